@@ -0,0 +1,21 @@
+package com.jpa.querydsl.cache;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class CacheStats {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+
+    public CacheStats(long hits, long misses, long evictions, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+}
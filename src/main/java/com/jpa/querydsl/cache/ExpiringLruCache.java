@@ -0,0 +1,92 @@
+package com.jpa.querydsl.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 크기(LRU)와 TTL로 제거하는 단순 캐시
+ * 조회 중에 clear()가 호출되면 조회 결과를 저장하지 않는다. (무효화 이전 데이터가 남지 않도록)
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringLruCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            misses.increment();
+            return loader.get();
+        }
+
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+        V value = loader.get();
+
+        synchronized (entries) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry<>(value, now + ttlMillis));
+                Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+                while (entries.size() > maxSize) {
+                    eldest.next();
+                    eldest.remove();
+                    evictions.increment();
+                }
+            }
+        }
+        return value;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
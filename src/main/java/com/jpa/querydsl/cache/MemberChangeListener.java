@@ -0,0 +1,29 @@
+package com.jpa.querydsl.cache;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * 엔티티 리스너
+ * 하이버네이트가 스프링 빈으로 생성하므로 생성자 주입을 받을 수 있다.
+ *
+ * 이벤트를 직접 발행하지 않고 MemberChangeTracker에 변경만 기록한다. (트랜잭션 종료 시 한 번 발행)
+ * 시퀀스 id는 insert가 flush 시점에 나가므로, persist 직후 같은 트랜잭션의 조회도
+ * 변경을 알 수 있도록 @PostPersist 대신 @PrePersist 에서 기록한다.
+ */
+public class MemberChangeListener {
+
+    private final MemberChangeTracker tracker;
+
+    public MemberChangeListener(MemberChangeTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @PrePersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        tracker.changed(entity.getClass());
+    }
+}
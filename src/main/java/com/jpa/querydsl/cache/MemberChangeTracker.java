@@ -0,0 +1,117 @@
+package com.jpa.querydsl.cache;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Member, Team 변경 추적
+ *
+ * 엔티티 리스너와 SQL 감지(MemberWriteStatementInspector)가 변경마다 호출한다.
+ * 트랜잭션 안에서는 변경된 엔티티 종류만 트랜잭션 리소스에 모아두고,
+ * 트랜잭션이 끝날 때 종류별로 MemberChangedEvent를 한 번씩 발행한다.
+ * (변경 건수와 상관없이 트랜잭션당 동기화 하나, 이벤트는 Member, Team 최대 두 개)
+ * 롤백되어도 발행한다. 캐시를 비우기만 하므로 문제없다.
+ *
+ * 트랜잭션 밖에서는 바로 발행하고, deferring 범위 안이면 범위가 끝날 때 모아서 발행한다. (StatelessSession)
+ */
+@Component
+public class MemberChangeTracker {
+
+    private static final ThreadLocal<Changes> DEFERRED = new ThreadLocal<>();
+
+    private final ApplicationEventPublisher publisher;
+    private final Object transactionKey = new Object();
+
+    public MemberChangeTracker(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    public void changed(Class<?> entityType) {
+        Changes changes = currentChanges();
+        if (changes == null) {
+            publisher.publishEvent(new MemberChangedEvent(entityType));
+            return;
+        }
+        changes.add(entityType);
+    }
+
+    /**
+     * 현재 트랜잭션에서 기록된 변경 횟수 (트랜잭션 밖이면 0)
+     * 트랜잭션 안에서만 쓰는 값이 그 사이 변경되었는지 확인하는 용도
+     */
+    public int changeCount(Class<?> entityType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return 0;
+        }
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(transactionKey);
+        return changes != null ? changes.count(entityType) : 0;
+    }
+
+    /**
+     * 범위 안의 변경을 모아서 work가 끝난 뒤 한 번씩 발행한다. (중첩되면 바깥 범위에서 발행)
+     */
+    public <T> T deferring(Supplier<T> work) {
+        if (DEFERRED.get() != null) {
+            return work.get();
+        }
+
+        Changes changes = new Changes();
+        DEFERRED.set(changes);
+        try {
+            return work.get();
+        } finally {
+            DEFERRED.remove();
+            publish(changes);
+        }
+    }
+
+    private Changes currentChanges() {
+        Changes deferred = DEFERRED.get();
+        if (deferred != null) {
+            return deferred;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(transactionKey);
+        if (changes == null) {
+            changes = new Changes();
+            TransactionSynchronizationManager.bindResource(transactionKey, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    Changes completed = (Changes) TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                    if (completed != null) {
+                        publish(completed);
+                    }
+                }
+            });
+        }
+        return changes;
+    }
+
+    private void publish(Changes changes) {
+        for (Class<?> entityType : changes.counts.keySet()) {
+            publisher.publishEvent(new MemberChangedEvent(entityType));
+        }
+    }
+
+    private static class Changes {
+        private final Map<Class<?>, Integer> counts = new LinkedHashMap<>();
+
+        private void add(Class<?> entityType) {
+            counts.merge(entityType, 1, Integer::sum);
+        }
+
+        private int count(Class<?> entityType) {
+            return counts.getOrDefault(entityType, 0);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.jpa.querydsl.cache;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Member, Team 데이터 변경 이벤트
+ * 검색 결과를 캐시하는 컴포넌트들이 받아서 무효화한다.
+ */
+@Getter
+@ToString
+public class MemberChangedEvent {
+
+    private final Class<?> entityType;
+
+    public MemberChangedEvent(Class<?> entityType) {
+        this.entityType = entityType;
+    }
+}
@@ -0,0 +1,58 @@
+package com.jpa.querydsl.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 검색 조건별 전체 카운트 캐시
+ * 페이지를 넘길 때마다 같은 조건의 count 쿼리가 반복되는 것을 막는다.
+ */
+@Component
+public class MemberCountCache {
+
+    private final ExpiringLruCache<MemberSearchKey, Long> exactCounts;
+    private final ExpiringLruCache<MemberSearchKey, Long> estimatedCounts;
+
+    public MemberCountCache(@Value("${member.search.count-cache.ttl:30s}") Duration ttl,
+                            @Value("${member.search.count-cache.max-size:1000}") int maxSize) {
+        this.exactCounts = new ExpiringLruCache<>(maxSize, ttl.toMillis());
+        this.estimatedCounts = new ExpiringLruCache<>(maxSize, ttl.toMillis());
+    }
+
+    public long getExact(MemberSearchKey key, LongSupplier loader) {
+        return get(exactCounts, key, loader);
+    }
+
+    public long getEstimated(MemberSearchKey key, LongSupplier loader) {
+        return get(estimatedCounts, key, loader);
+    }
+
+    public CacheStats exactStats() {
+        return exactCounts.stats();
+    }
+
+    public CacheStats estimatedStats() {
+        return estimatedCounts.stats();
+    }
+
+    private long get(ExpiringLruCache<MemberSearchKey, Long> counts, MemberSearchKey key, LongSupplier loader) {
+        if (!SharedCachePolicy.usable()) {
+            return loader.getAsLong();
+        }
+        return counts.get(key, loader::getAsLong);
+    }
+
+    public void clear() {
+        exactCounts.clear();
+        estimatedCounts.clear();
+    }
+
+    @EventListener
+    public void onChange(MemberChangedEvent event) {
+        clear();
+    }
+}
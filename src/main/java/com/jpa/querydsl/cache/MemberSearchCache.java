@@ -0,0 +1,58 @@
+package com.jpa.querydsl.cache;
+
+import com.jpa.querydsl.dto.MemberTeamDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 검색 결과 캐시 (MemberRepositoryImpl.search)
+ * 자주 반복되는 검색 조건의 결과를 재사용한다. Member, Team 변경시 전체 무효화
+ *
+ * MemberTeamDto 는 setter가 있으므로 저장할 때와 꺼낼 때 모두 복사한다.
+ * 호출한 쪽에서 결과를 바꿔도(teamName 채우기 등) 캐시된 결과와 다른 요청에는 영향이 없다.
+ */
+@Component
+public class MemberSearchCache {
+
+    private final ExpiringLruCache<MemberSearchKey, List<MemberTeamDto>> results;
+
+    public MemberSearchCache(@Value("${member.search.result-cache.ttl:10s}") Duration ttl,
+                             @Value("${member.search.result-cache.max-size:500}") int maxSize) {
+        this.results = new ExpiringLruCache<>(maxSize, ttl.toMillis());
+    }
+
+    public List<MemberTeamDto> get(MemberSearchKey key, Supplier<List<MemberTeamDto>> loader) {
+        if (!SharedCachePolicy.usable()) {
+            return loader.get();
+        }
+        return copyOf(results.get(key, () -> copyOf(loader.get())));
+    }
+
+    public CacheStats stats() {
+        return results.stats();
+    }
+
+    public void clear() {
+        results.clear();
+    }
+
+    private static List<MemberTeamDto> copyOf(List<MemberTeamDto> rows) {
+        List<MemberTeamDto> copy = new ArrayList<>(rows.size());
+        for (MemberTeamDto row : rows) {
+            copy.add(new MemberTeamDto(row.getMemberId(), row.getUsername(), row.getAge(),
+                    row.getTeamId(), row.getTeamName()));
+        }
+        return copy;
+    }
+
+    @EventListener
+    public void onChange(MemberChangedEvent event) {
+        clear();
+    }
+}
@@ -0,0 +1,27 @@
+package com.jpa.querydsl.cache;
+
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import lombok.Value;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 검색 조건 캐시 키
+ * 조회 시 무시되는 빈 문자열은 null로 정규화해서 같은 쿼리는 같은 키가 되도록 한다.
+ */
+@Value
+public class MemberSearchKey {
+
+    String username;
+    String teamName;
+    Integer ageGoe;
+    Integer ageLoe;
+
+    public static MemberSearchKey of(MemberSearchCondition condition) {
+        return new MemberSearchKey(
+                hasText(condition.getUsername()) ? condition.getUsername() : null,
+                hasText(condition.getTeamName()) ? condition.getTeamName() : null,
+                condition.getAgeGoe(),
+                condition.getAgeLoe());
+    }
+}
@@ -0,0 +1,38 @@
+package com.jpa.querydsl.cache;
+
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * member, team 테이블을 변경하는 SQL을 감지해서 MemberChangeTracker에 기록한다.
+ * 벌크 update/delete(queryFactory.update(member)...execute())는 엔티티 리스너를 거치지 않으므로 SQL 단계에서 잡는다.
+ */
+@Component
+public class MemberWriteStatementInspector implements StatementInspector {
+
+    // use_sql_comments 사용시 앞에 붙는 /* 주석 */ 은 건너뛴다.
+    private static final Pattern WRITE_SQL = Pattern.compile(
+            "^\\s*(?:/\\*.*?\\*/\\s*)*(?:insert\\s+into|update|delete\\s+from|delete|merge\\s+into)\\s+(member|team)\\b",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final MemberChangeTracker tracker;
+
+    public MemberWriteStatementInspector(MemberChangeTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Matcher matcher = WRITE_SQL.matcher(sql);
+        if (matcher.find()) {
+            String table = matcher.group(1).toLowerCase();
+            tracker.changed("team".equals(table) ? Team.class : Member.class);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,19 @@
+package com.jpa.querydsl.cache;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 공유 캐시 사용 여부
+ * 쓰기 트랜잭션 안에서 읽은 값은 아직 커밋되지 않았거나 롤백될 수 있으므로
+ * 공유 캐시에서 꺼내지도, 저장하지도 않는다. (트랜잭션 밖이거나 읽기 전용 트랜잭션일 때만 사용)
+ */
+final class SharedCachePolicy {
+
+    private SharedCachePolicy() {
+    }
+
+    static boolean usable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
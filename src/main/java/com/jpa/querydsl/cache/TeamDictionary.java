@@ -0,0 +1,140 @@
+package com.jpa.querydsl.cache;
+
+import com.jpa.querydsl.entity.Team;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 팀 이름 <-> id 사전
+ *
+ * 팀은 개수가 적고 거의 바뀌지 않으므로 메모리에 올려두고,
+ * 팀 이름 검색을 member.team_id IN (...) 으로 바꿔서 team 조인 없이 조회한다.
+ * Team 변경 이벤트를 받으면 비우고 다음 조회 시점에 다시 읽는다.
+ *
+ * 쓰기 트랜잭션 안에서는 커밋 전 팀이 공유 사전에 남지 않도록
+ * 트랜잭션 리소스로 따로 읽어서 그 트랜잭션 안에서만 사용한다.
+ * 그 트랜잭션에서 Team이 변경되면(MemberChangeTracker 기록) 다시 읽는다.
+ */
+@Component
+public class TeamDictionary {
+
+    private final EntityManager em;
+    private final MemberChangeTracker tracker;
+    private final Object transactionKey = new Object();
+
+    private volatile Snapshot snapshot;
+    private long generation;
+
+    public TeamDictionary(EntityManager em, MemberChangeTracker tracker) {
+        this.em = em;
+        this.tracker = tracker;
+    }
+
+    /**
+     * 팀 이름은 유일하지 않으므로 id 목록을 반환한다. (없으면 빈 목록)
+     */
+    public List<Long> idsOf(String teamName) {
+        return snapshot().idsByName.getOrDefault(teamName, Collections.emptyList());
+    }
+
+    public String nameOf(Long teamId) {
+        return teamId != null ? snapshot().namesById.get(teamId) : null;
+    }
+
+    public void invalidate() {
+        synchronized (this) {
+            generation++;
+            snapshot = null;
+        }
+    }
+
+    @EventListener
+    public void onChange(MemberChangedEvent event) {
+        if (event.getEntityType() == Team.class) {
+            invalidate();
+        }
+    }
+
+    private Snapshot snapshot() {
+        if (!SharedCachePolicy.usable()) {
+            return transactionSnapshot();
+        }
+
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        Snapshot loaded = load();
+        synchronized (this) {
+            // 읽는 도중 무효화되었다면 저장하지 않는다.
+            if (loadGeneration == generation) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private Snapshot transactionSnapshot() {
+        TransactionSnapshot local = (TransactionSnapshot) TransactionSynchronizationManager.getResource(transactionKey);
+        if (local == null) {
+            local = new TransactionSnapshot();
+            TransactionSynchronizationManager.bindResource(transactionKey, local);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                }
+            });
+        }
+        int teamChanges = tracker.changeCount(Team.class);
+        if (local.snapshot == null || local.teamChanges != teamChanges) {
+            local.snapshot = load();
+            local.teamChanges = teamChanges;
+        }
+        return local.snapshot;
+    }
+
+    private Snapshot load() {
+        List<Object[]> rows = em.createQuery("SELECT t.id, t.name FROM Team t", Object[].class)
+                .getResultList();
+
+        Map<String, List<Long>> idsByName = new HashMap<>();
+        Map<Long, String> namesById = new HashMap<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String name = (String) row[1];
+            namesById.put(id, name);
+            idsByName.computeIfAbsent(name, n -> new ArrayList<>()).add(id);
+        }
+        return new Snapshot(idsByName, namesById);
+    }
+
+    private static class Snapshot {
+        private final Map<String, List<Long>> idsByName;
+        private final Map<Long, String> namesById;
+
+        private Snapshot(Map<String, List<Long>> idsByName, Map<Long, String> namesById) {
+            this.idsByName = idsByName;
+            this.namesById = namesById;
+        }
+    }
+
+    private static class TransactionSnapshot {
+        private Snapshot snapshot;
+        private int teamChanges;
+    }
+}
@@ -0,0 +1,81 @@
+package com.jpa.querydsl.condition;
+
+import com.querydsl.core.types.Predicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 검색 조건 클래스 하나를 컴파일한 결과 (ConditionCompiler.compile)
+ *
+ * 필드마다 getter(Function)와 조건 생성 함수를 미리 만들어 두므로 요청마다 리플렉션을 하지 않는다.
+ * 불변이므로 static final 로 두고 공유한다.
+ */
+public final class CompiledCondition<C> {
+
+    private final Class<C> type;
+    private final FieldCondition<C>[] fields;
+
+    @SuppressWarnings("unchecked")
+    CompiledCondition(Class<C> type, List<FieldCondition<C>> fields) {
+        this.type = type;
+        this.fields = fields.toArray((FieldCondition<C>[]) new FieldCondition<?>[fields.size()]);
+    }
+
+    /**
+     * where(...)에 그대로 넘길 수 있는 조건 배열 (값이 없는 필드는 null, Querydsl이 무시한다)
+     */
+    public Predicate[] predicates(C condition) {
+        Predicate[] predicates = new Predicate[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            predicates[i] = fields[i].toPredicate(condition);
+        }
+        return predicates;
+    }
+
+    /**
+     * 일부 필드를 직접 처리할 때 사용 (예: teamName 은 TeamDictionary 로 처리)
+     *
+     * @throws IllegalArgumentException 없는 필드명
+     */
+    public CompiledCondition<C> without(String... fieldNames) {
+        List<String> excluded = Arrays.asList(fieldNames);
+        List<FieldCondition<C>> remaining = new ArrayList<>();
+        for (FieldCondition<C> field : fields) {
+            if (!excluded.contains(field.name)) {
+                remaining.add(field);
+            }
+        }
+        if (remaining.size() != fields.length - excluded.size()) {
+            throw new IllegalArgumentException(type.getSimpleName() + " 에 없는 조건 필드: " + excluded);
+        }
+        return new CompiledCondition<>(type, remaining);
+    }
+
+    static final class FieldCondition<C> {
+
+        private final String name;
+        private final Function<C, Object> getter;
+        private final Function<Object, Predicate> factory;
+        private final boolean text;
+
+        FieldCondition(String name, Function<C, Object> getter, Function<Object, Predicate> factory, boolean text) {
+            this.name = name;
+            this.getter = getter;
+            this.factory = factory;
+            this.text = text;
+        }
+
+        Predicate toPredicate(C condition) {
+            Object value = getter.apply(condition);
+            if (value == null || (text && !hasText((String) value))) {
+                return null;
+            }
+            return factory.apply(value);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.jpa.querydsl.condition;
+
+import com.jpa.querydsl.condition.CompiledCondition.FieldCondition;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.ComparableExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.SimpleExpression;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * @Eq, @Goe, @Loe 가 붙은 검색 조건 클래스를 CompiledCondition 으로 변환한다.
+ *
+ * - path 는 루트(엔티티 이름 소문자 시작, QMember.member 의 변수명 member1 이 아님)부터 Q타입 필드를 따라가서 찾는다. (예: member.team.name)
+ * - getter 는 LambdaMetafactory 로 만든 Function 이므로 직접 호출과 같게 인라인된다.
+ * - 필드 타입이 path 타입과 다르거나(primitive 는 박싱 타입으로 비교), path 타입이 연산과 맞지 않거나,
+ *   getter 가 없으면 IllegalStateException (애플리케이션 시작 시점에 확인)
+ */
+public final class ConditionCompiler {
+
+    private ConditionCompiler() {
+    }
+
+    public static <C> CompiledCondition<C> compile(Class<C> type, EntityPath<?>... roots) {
+        Map<String, EntityPath<?>> rootsByName = new HashMap<>();
+        for (EntityPath<?> root : roots) {
+            rootsByName.put(StringUtils.uncapitalize(root.getType().getSimpleName()), root);
+        }
+
+        List<FieldCondition<C>> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            Eq eq = field.getAnnotation(Eq.class);
+            Goe goe = field.getAnnotation(Goe.class);
+            Loe loe = field.getAnnotation(Loe.class);
+            if (eq != null) {
+                fields.add(compile(type, field, eq(resolve(rootsByName, eq.path(), field))));
+            } else if (goe != null) {
+                fields.add(compile(type, field, goe(resolve(rootsByName, goe.path(), field))));
+            } else if (loe != null) {
+                fields.add(compile(type, field, loe(resolve(rootsByName, loe.path(), field))));
+            }
+        }
+        return new CompiledCondition<>(type, fields);
+    }
+
+    private static <C> FieldCondition<C> compile(Class<C> type, Field field, Function<Object, Predicate> factory) {
+        return new FieldCondition<>(field.getName(), getter(type, field), factory,
+                field.getType() == String.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Predicate> eq(Object path) {
+        if (!(path instanceof SimpleExpression)) {
+            throw new IllegalStateException("eq 를 지원하지 않는 path: " + path);
+        }
+        SimpleExpression<Object> expression = (SimpleExpression<Object>) path;
+        return expression::eq;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<Object, Predicate> goe(Object path) {
+        if (path instanceof NumberExpression) {
+            NumberExpression expression = (NumberExpression) path;
+            return value -> expression.goe((Number & Comparable) value);
+        }
+        if (path instanceof ComparableExpression) {
+            ComparableExpression expression = (ComparableExpression) path;
+            return value -> expression.goe((Comparable) value);
+        }
+        throw new IllegalStateException("goe 를 지원하지 않는 path: " + path);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<Object, Predicate> loe(Object path) {
+        if (path instanceof NumberExpression) {
+            NumberExpression expression = (NumberExpression) path;
+            return value -> expression.loe((Number & Comparable) value);
+        }
+        if (path instanceof ComparableExpression) {
+            ComparableExpression expression = (ComparableExpression) path;
+            return value -> expression.loe((Comparable) value);
+        }
+        throw new IllegalStateException("loe 를 지원하지 않는 path: " + path);
+    }
+
+    /**
+     * "member.team.name" -> QMember.member.team.name
+     * 요청마다 ClassCastException 이 나지 않도록 필드 타입이 path 타입에 들어가는지 여기서 확인한다.
+     */
+    private static Object resolve(Map<String, EntityPath<?>> rootsByName, String path, Field field) {
+        String[] segments = path.split("\\.");
+        Object current = rootsByName.get(segments[0]);
+        if (current == null) {
+            throw new IllegalStateException("등록되지 않은 루트: " + path);
+        }
+        for (int i = 1; i < segments.length; i++) {
+            try {
+                current = current.getClass().getField(segments[i]).get(current);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new IllegalStateException("path 를 찾을 수 없습니다: " + path, e);
+            }
+        }
+
+        if (!(current instanceof Expression)) {
+            throw new IllegalStateException("path 를 찾을 수 없습니다: " + path);
+        }
+        Class<?> pathType = ((Expression<?>) current).getType();
+        Class<?> fieldType = ClassUtils.resolvePrimitiveIfNecessary(field.getType());
+        if (!pathType.isAssignableFrom(fieldType)) {
+            throw new IllegalStateException("필드 타입이 path 타입과 맞지 않습니다: " + field.getDeclaringClass().getSimpleName()
+                    + "." + field.getName() + " (" + fieldType.getSimpleName() + ") -> " + path + " (" + pathType.getSimpleName() + ")");
+        }
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> Function<C, Object> getter(Class<C> type, Field field) {
+        try {
+            PropertyDescriptor descriptor = null;
+            for (PropertyDescriptor candidate : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                if (candidate.getName().equals(field.getName())) {
+                    descriptor = candidate;
+                }
+            }
+            if (descriptor == null || descriptor.getReadMethod() == null) {
+                throw new IllegalStateException("getter 가 없습니다: " + type.getSimpleName() + "." + field.getName());
+            }
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(descriptor.getReadMethod());
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    handle.type().wrap());
+            return (Function<C, Object>) site.getTarget().invokeExact();
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("getter 를 만들 수 없습니다: " + type.getSimpleName() + "." + field.getName(), e);
+        }
+    }
+}
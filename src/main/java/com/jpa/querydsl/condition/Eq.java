@@ -0,0 +1,20 @@
+package com.jpa.querydsl.condition;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 검색 조건 필드 -> path 같음 (eq)
+ * 값이 null 이거나 빈 문자열이면 조건을 만들지 않는다. 필드 타입은 path 타입과 같아야 한다.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Eq {
+
+    /**
+     * 루트 엔티티.속성 (예: member.username, team.name)
+     */
+    String path();
+}
@@ -0,0 +1,20 @@
+package com.jpa.querydsl.condition;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 검색 조건 필드 -> path 이하 (loe)
+ * 값이 null 이면 조건을 만들지 않는다. 필드 타입은 path 타입과 같아야 한다. (int 는 Integer 로 본다)
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Loe {
+
+    /**
+     * 루트 엔티티.속성 (예: member.age)
+     */
+    String path();
+}
@@ -0,0 +1,60 @@
+package com.jpa.querydsl.config;
+
+import com.jpa.querydsl.entity.Team;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * 연관관계별 지연 로딩 방식 (member.fetch.*)
+ *
+ * @BatchSize, @Fetch 는 애노테이션 상수라 환경별로 바꿀 수 없으므로
+ * 매핑을 읽은 뒤 persister를 만들기 전에 매핑 정보를 바꾼다.
+ * 지정하지 않은 연관관계는 hibernate.default_batch_fetch_size 를 따른다.
+ *
+ * - team-batch-size: Member.team 프록시를 한 번에 초기화할 팀 수 (Team 엔티티 배치 크기)
+ * - members-batch-size: Team.members 컬렉션을 한 번에 초기화할 팀 수
+ * - members-subselect: Team.members 를 처음 팀을 읽은 쿼리의 서브쿼리로 한 번에 초기화
+ *   (처음 쿼리를 limit 없이 다시 실행하므로 페이징한 팀 목록에서는 사용하지 않는다)
+ */
+public class FetchOverrideIntegrator implements Integrator {
+
+    private final int teamBatchSize;
+    private final int membersBatchSize;
+    private final boolean membersSubselect;
+
+    /**
+     * @param teamBatchSize    0이면 default_batch_fetch_size
+     * @param membersBatchSize 0이면 default_batch_fetch_size
+     */
+    public FetchOverrideIntegrator(int teamBatchSize, int membersBatchSize, boolean membersSubselect) {
+        this.teamBatchSize = teamBatchSize;
+        this.membersBatchSize = membersBatchSize;
+        this.membersSubselect = membersSubselect;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        PersistentClass team = metadata.getEntityBinding(Team.class.getName());
+        if (teamBatchSize > 0) {
+            team.setBatchSize(teamBatchSize);
+        }
+
+        Collection members = metadata.getCollectionBinding(Team.class.getName() + ".members");
+        if (membersBatchSize > 0) {
+            members.setBatchSize(membersBatchSize);
+        }
+        if (membersSubselect) {
+            members.setSubselectLoadable(true);
+            team.setSubselectLoadableCollections(true);
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.jpa.querydsl.config;
+
+import com.jpa.querydsl.cache.MemberWriteStatementInspector;
+import com.jpa.querydsl.entity.PooledSequenceGenerator;
+import com.jpa.querydsl.instrumentation.JdbcTimingSessionListener;
+import com.jpa.querydsl.instrumentation.SqlCountingStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 하이버네이트 설정 중 스프링 빈이 필요한 항목
+ */
+@Configuration
+public class HibernateConfig {
+
+    /**
+     * 인스펙터는 하나만 등록할 수 있으므로 캐시 무효화 -> SQL 집계 순으로 묶는다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(MemberWriteStatementInspector inspector) {
+        StatementInspector counting = new SqlCountingStatementInspector();
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                (StatementInspector) sql -> counting.inspect(inspector.inspect(sql)));
+    }
+
+    /**
+     * 세션마다 JDBC 실행 시간 기록 (SqlBudget)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sessionEventsCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                JdbcTimingSessionListener.class.getName());
+    }
+
+    /**
+     * Member, Team 시퀀스의 allocation size (PooledSequenceGenerator)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationSizeCustomizer(
+            @Value("${member.id.allocation-size:" + PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        return properties -> properties.put(PooledSequenceGenerator.ALLOCATION_SIZE, allocationSize);
+    }
+
+    /**
+     * 연관관계별 지연 로딩 방식 (FetchOverrideIntegrator)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer fetchOverrideCustomizer(
+            @Value("${member.fetch.team-batch-size:0}") int teamBatchSize,
+            @Value("${member.fetch.members-batch-size:0}") int membersBatchSize,
+            @Value("${member.fetch.members-subselect:false}") boolean membersSubselect) {
+        Integrator integrator = new FetchOverrideIntegrator(teamBatchSize, membersBatchSize, membersSubselect);
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(integrator));
+    }
+}
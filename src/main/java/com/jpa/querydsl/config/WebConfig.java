@@ -0,0 +1,21 @@
+package com.jpa.querydsl.config;
+
+import com.jpa.querydsl.instrumentation.SqlBudgetInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final SqlBudgetInterceptor sqlBudgetInterceptor;
+
+    public WebConfig(SqlBudgetInterceptor sqlBudgetInterceptor) {
+        this.sqlBudgetInterceptor = sqlBudgetInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlBudgetInterceptor);
+    }
+}
@@ -0,0 +1,65 @@
+package com.jpa.querydsl.controller;
+
+import com.jpa.querydsl.cache.CacheStats;
+import com.jpa.querydsl.cache.MemberCountCache;
+import com.jpa.querydsl.cache.MemberSearchCache;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 캐시 적중률 확인용
+ */
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final MemberSearchCache memberSearchCache;
+    private final MemberCountCache memberCountCache;
+    private final EntityManagerFactory emf;
+
+    @GetMapping("/cache/stats")
+    public Map<String, CacheStats> cacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("memberSearch", memberSearchCache.stats());
+        stats.put("memberCount.exact", memberCountCache.exactStats());
+        stats.put("memberCount.estimated", memberCountCache.estimatedStats());
+        return stats;
+    }
+
+    /**
+     * 하이버네이트 2차 캐시, 쿼리 캐시 리전별 통계 (hibernate.generate_statistics 필요)
+     */
+    @GetMapping("/cache/regions")
+    public Map<String, Map<String, Long>> regionStats() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Map<String, Long>> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            regions.put(regionName, toMap(statistics.getDomainDataRegionStatistics(regionName)));
+        }
+        CacheRegionStatistics queryRegion =
+                statistics.getQueryRegionStatistics(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        if (queryRegion != null) {
+            regions.put(queryRegion.getRegionName(), toMap(queryRegion));
+        }
+        return regions;
+    }
+
+    private Map<String, Long> toMap(CacheRegionStatistics region) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        map.put("hit", region.getHitCount());
+        map.put("miss", region.getMissCount());
+        map.put("put", region.getPutCount());
+        map.put("elementCountInMemory", region.getElementCountInMemory());
+        return map;
+    }
+}
@@ -0,0 +1,40 @@
+package com.jpa.querydsl.controller;
+
+import com.jpa.querydsl.dto.BulkIngestResult;
+import com.jpa.querydsl.service.InvalidBulkRequestException;
+import com.jpa.querydsl.service.MemberIngestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/**
+ * 대량 입력 컨트롤러
+ */
+@RestController
+@RequiredArgsConstructor
+public class MemberBulkController {
+
+    private final MemberIngestService memberIngestService;
+
+    /**
+     * JSON 배열 [{"username":..., "age":..., "teamName":...}, ...] 을 청크 단위로 저장
+     * 본문을 @RequestBody로 한 번에 읽지 않고 요청 스트림에서 바로 파싱한다.
+     */
+    @PostMapping(value = "/members/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkIngestResult bulkInsert(HttpServletRequest request) throws IOException {
+        return memberIngestService.ingest(request.getInputStream());
+    }
+
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String badRequest(InvalidBulkRequestException e) {
+        return e.getMessage();
+    }
+}
@@ -1,25 +1,58 @@
 package com.jpa.querydsl.controller;
 
+import com.jpa.querydsl.dto.CursorSlice;
+import com.jpa.querydsl.dto.InvalidCursorException;
 import com.jpa.querydsl.dto.MemberSearchCondition;
 import com.jpa.querydsl.dto.MemberTeamDto;
+import com.jpa.querydsl.respository.InvalidSortException;
 import com.jpa.querydsl.respository.MemberJpaRepository;
 import com.jpa.querydsl.respository.MemberRepository;
-import lombok.RequiredArgsConstructor;
+import com.jpa.querydsl.service.MemberExportService;
+import com.jpa.querydsl.service.MemberSearchService;
+import com.jpa.querydsl.service.MemberStreamService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 조회 컨트롤러
  */
 @RestController
-@RequiredArgsConstructor
 public class MemberController {
 
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final MemberSearchService memberSearchService;
+    private final MemberStreamService memberStreamService;
+    private final MemberExportService memberExportService;
+    private final int cursorMaxSize;
+
+    public MemberController(MemberJpaRepository memberJpaRepository,
+                            MemberRepository memberRepository,
+                            MemberSearchService memberSearchService,
+                            MemberStreamService memberStreamService,
+                            MemberExportService memberExportService,
+                            @Value("${member.search.cursor.max-size:100}") int cursorMaxSize) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.memberRepository = memberRepository;
+        this.memberSearchService = memberSearchService;
+        this.memberStreamService = memberStreamService;
+        this.memberExportService = memberExportService;
+        this.cursorMaxSize = cursorMaxSize;
+    }
 
     @GetMapping("/v1/members")
     public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition)
@@ -27,15 +60,91 @@ public class MemberController {
         return memberJpaRepository.search(condition);
     }
 
+    /**
+     * 전체 결과를 NDJSON으로 스트리밍 (List로 모으지 않음)
+     */
+    @GetMapping(value = "/v1/members/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamMemberV1(MemberSearchCondition condition) {
+        StreamingResponseBody body = out -> memberStreamService.writeNdjson(condition, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /**
+     * 전체 결과 CSV 다운로드 (gzip=true면 gzip 압축)
+     * 응답 스레드에서 트랜잭션 없이 실행되므로 StatelessSession 으로 읽는다.
+     */
+    @GetMapping("/v1/members/export")
+    public ResponseEntity<StreamingResponseBody> exportMemberV1(MemberSearchCondition condition,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        String filename = gzip ? "members.csv.gz" : "members.csv";
+        StreamingResponseBody body = out -> memberExportService.exportCsvStateless(condition, out, gzip);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(gzip ? MediaType.APPLICATION_OCTET_STREAM : new MediaType("text", "csv"))
+                .body(body);
+    }
+
+    /**
+     * sort 는 인덱스가 있는 memberId, username, age, teamId 중 하나만 가능 (그 외는 400)
+     */
     @GetMapping("/v2/members")
     public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition,
                                               Pageable pageable) {
         return memberRepository.searchPageSimple(condition, pageable);
     }
 
+    /**
+     * estimate=true면 전체 카운트를 상한까지만 센다. (totalExact 로 정확 여부 확인)
+     */
     @GetMapping("/v3/members")
     public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition,
-                                              Pageable pageable) {
+                                              Pageable pageable,
+                                              @RequestParam(defaultValue = "false") boolean estimate) {
+        if (estimate) {
+            return memberRepository.searchPageEstimated(condition, pageable);
+        }
         return memberRepository.searchPageComplex(condition, pageable);
     }
-}
\ No newline at end of file
+
+    /**
+     * 내용과 카운트를 병렬 조회 (요청 스레드를 붙잡지 않음)
+     */
+    @GetMapping("/v3/members/async")
+    public CompletableFuture<Page<MemberTeamDto>> searchMemberV3Async(MemberSearchCondition condition,
+                                                                      Pageable pageable) {
+        return memberSearchService.searchPageAsync(condition, pageable);
+    }
+
+    /**
+     * 무한 스크롤용 (count 쿼리 없음)
+     */
+    @GetMapping("/v3/members/slice")
+    public Slice<MemberTeamDto> searchMemberV3Slice(MemberSearchCondition condition,
+                                                    Pageable pageable) {
+        return memberRepository.searchSlice(condition, pageable);
+    }
+
+    /**
+     * size 는 Pageable 처럼 1 ~ member.search.cursor.max-size 범위로 맞춘다.
+     */
+    @GetMapping("/v4/members")
+    public CursorSlice<MemberTeamDto> searchMemberV4(MemberSearchCondition condition,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        return memberRepository.searchSlice(condition, cursor, Math.max(1, Math.min(size, cursorMaxSize)));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String badRequest(InvalidCursorException e) {
+        return e.getMessage();
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String badRequest(InvalidSortException e) {
+        return e.getMessage();
+    }
+}
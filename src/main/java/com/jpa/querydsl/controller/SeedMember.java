@@ -0,0 +1,42 @@
+package com.jpa.querydsl.controller;
+
+import com.jpa.querydsl.service.MemberSeedService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * 부하 테스트용 대량 데이터 입력 (seed 프로파일)
+ * 건수는 member.seed.members, member.seed.teams 로 지정한다.
+ * member.seed.stateless=true 면 StatelessSession 으로 입력한다.
+ */
+@Profile("seed")
+@Component
+public class SeedMember {
+
+    private final MemberSeedService memberSeedService;
+    private final long members;
+    private final int teams;
+    private final boolean stateless;
+
+    public SeedMember(MemberSeedService memberSeedService,
+                      @Value("${member.seed.members:1000000}") long members,
+                      @Value("${member.seed.teams:100}") int teams,
+                      @Value("${member.seed.stateless:true}") boolean stateless) {
+        this.memberSeedService = memberSeedService;
+        this.members = members;
+        this.teams = teams;
+        this.stateless = stateless;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (stateless) {
+            memberSeedService.seedStateless(members, teams);
+        } else {
+            memberSeedService.seed(members, teams);
+        }
+    }
+}
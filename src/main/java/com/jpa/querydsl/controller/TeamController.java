@@ -0,0 +1,40 @@
+package com.jpa.querydsl.controller;
+
+import com.jpa.querydsl.dto.TeamRosterDto;
+import com.jpa.querydsl.respository.InvalidSortException;
+import com.jpa.querydsl.respository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 팀 명단 조회 컨트롤러
+ */
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamRepository teamRepository;
+
+    /**
+     * 페이징은 팀 기준 (name 으로 시작하는 팀만)
+     * 정렬은 teamId, teamName 중 하나 ex) sort=teamName,desc
+     */
+    @GetMapping("/teams")
+    public Page<TeamRosterDto> searchRoster(@RequestParam(required = false) String name,
+                                            Pageable pageable) {
+        return teamRepository.searchRoster(name, pageable);
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String badRequest(InvalidSortException e) {
+        return e.getMessage();
+    }
+}
@@ -0,0 +1,51 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 대량 입력 청크(트랜잭션) 하나의 결과
+ * committed가 false면 청크 전체가 롤백된 것이고 이유는 error에 있다.
+ */
+@Getter
+@ToString
+public class BulkChunkReport {
+
+    private final int index;
+    private final long firstRow;
+    private final int rows;
+    private final int inserted;
+    private final long elapsedMillis;
+    private final boolean committed;
+    private final String error;
+    private final List<RowError> rowErrors;
+
+    public BulkChunkReport(int index, long firstRow, int rows, int inserted, long elapsedMillis,
+                           String error, List<RowError> rowErrors) {
+        this.index = index;
+        this.firstRow = firstRow;
+        this.rows = rows;
+        this.inserted = inserted;
+        this.elapsedMillis = elapsedMillis;
+        this.committed = error == null;
+        this.error = error;
+        this.rowErrors = rowErrors;
+    }
+
+    /**
+     * 건너뛴 행 (row는 요청 배열의 0부터 시작하는 위치)
+     */
+    @Getter
+    @ToString
+    public static class RowError {
+        private final long row;
+        private final String message;
+
+        public RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+    }
+}
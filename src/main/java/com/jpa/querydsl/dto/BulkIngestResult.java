@@ -0,0 +1,39 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 대량 입력 결과 (전체 건수, 저장 건수, 청크별 결과)
+ * JSON이 중간에 깨지면 그 앞까지만 저장하고 error에 이유를 남긴다.
+ */
+@Getter
+@ToString
+public class BulkIngestResult {
+
+    private final long rows;
+    private final long inserted;
+    private final long failed;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+    private final String error;
+    private final List<BulkChunkReport> chunks;
+
+    public BulkIngestResult(long elapsedMillis, String error, List<BulkChunkReport> chunks) {
+        long rows = 0;
+        long inserted = 0;
+        for (BulkChunkReport chunk : chunks) {
+            rows += chunk.getRows();
+            inserted += chunk.getInserted();
+        }
+        this.rows = rows;
+        this.inserted = inserted;
+        this.failed = rows - inserted;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? inserted * 1000.0 / elapsedMillis : inserted;
+        this.error = error;
+        this.chunks = chunks;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 병렬 벌크 작업 파티션 하나의 결과
+ * partition은 team_id (팀 없는 회원은 "team_id is null") 또는 member_id 범위이다.
+ * committed가 false면 해당 파티션만 롤백된 것이고 이유는 error에 있다.
+ */
+@Getter
+@ToString
+public class BulkPartitionReport {
+
+    private final String partition;
+    private final long affectedRows;
+    private final long elapsedMillis;
+    private final boolean committed;
+    private final String error;
+
+    public BulkPartitionReport(String partition, long affectedRows, long elapsedMillis, String error) {
+        this.partition = partition;
+        this.affectedRows = affectedRows;
+        this.elapsedMillis = elapsedMillis;
+        this.committed = error == null;
+        this.error = error;
+    }
+}
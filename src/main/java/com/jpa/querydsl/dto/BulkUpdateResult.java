@@ -0,0 +1,26 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 청크 단위 벌크 수정/삭제 결과 (청크 수, 변경 건수, 소요 시간, 가장 오래 걸린 청크)
+ */
+@Getter
+@ToString
+public class BulkUpdateResult {
+
+    private final int chunks;
+    private final long affectedRows;
+    private final long elapsedMillis;
+    private final long maxChunkMillis;
+    private final double rowsPerSecond;
+
+    public BulkUpdateResult(int chunks, long affectedRows, long elapsedMillis, long maxChunkMillis) {
+        this.chunks = chunks;
+        this.affectedRows = affectedRows;
+        this.elapsedMillis = elapsedMillis;
+        this.maxChunkMillis = maxChunkMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? affectedRows * 1000.0 / elapsedMillis : affectedRows;
+    }
+}
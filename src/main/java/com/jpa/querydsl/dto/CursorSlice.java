@@ -0,0 +1,23 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 기반 페이징 결과
+ * nextCursor는 다음 페이지 조회시 그대로 전달하는 불투명 토큰이다.
+ */
+@Getter
+public class CursorSlice<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorSlice(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+    }
+}
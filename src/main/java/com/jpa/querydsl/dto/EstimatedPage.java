@@ -0,0 +1,24 @@
+package com.jpa.querydsl.dto;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 전체 카운트를 상한까지만 센 페이지
+ * totalExact가 false면 totalElements는 상한값이다.
+ */
+public class EstimatedPage<T> extends PageImpl<T> {
+
+    private final boolean totalExact;
+
+    public EstimatedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+}
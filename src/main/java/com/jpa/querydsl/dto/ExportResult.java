@@ -0,0 +1,22 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 내보내기 결과 (처리 건수, 소요 시간, 초당 처리 건수)
+ */
+@Getter
+@ToString
+public class ExportResult {
+
+    private final long rows;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+
+    public ExportResult(long rows, long elapsedMillis) {
+        this.rows = rows;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : rows;
+    }
+}
@@ -0,0 +1,12 @@
+package com.jpa.querydsl.dto;
+
+/**
+ * 해석할 수 없는 커서 토큰 (GET /v4/members 400)
+ * 리포지토리 프록시가 DataAccessException 으로 변환하지 않도록 IllegalArgumentException 을 상속하지 않는다.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super("잘못된 커서입니다: " + cursor, cause);
+    }
+}
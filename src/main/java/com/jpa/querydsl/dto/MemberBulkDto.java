@@ -0,0 +1,22 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Data;
+
+/**
+ * 대량 입력 한 건 (teamName은 없으면 팀 없이 저장)
+ */
+@Data
+public class MemberBulkDto {
+    private String username;
+    private int age;
+    private String teamName;
+
+    public MemberBulkDto() {
+    }
+
+    public MemberBulkDto(String username, int age, String teamName) {
+        this.username = username;
+        this.age = age;
+        this.teamName = teamName;
+    }
+}
@@ -0,0 +1,46 @@
+package com.jpa.querydsl.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 회원 검색 커서 토큰 변환
+ * 마지막으로 조회한 member_id를 URL-safe Base64로 감싼다.
+ */
+public final class MemberCursor {
+
+    private static final String PREFIX = "m:";
+
+    private MemberCursor() {
+    }
+
+    public static String encode(Long lastMemberId) {
+        String raw = PREFIX + lastMemberId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 커서가 없으면 null (첫 페이지)
+     * @throws InvalidCursorException 해석할 수 없는 커서
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor, e);
+        }
+        if (!raw.startsWith(PREFIX)) {
+            throw new InvalidCursorException(cursor, null);
+        }
+        try {
+            return Long.valueOf(raw.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor, e);
+        }
+    }
+}
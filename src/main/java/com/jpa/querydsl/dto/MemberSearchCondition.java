@@ -1,13 +1,21 @@
 package com.jpa.querydsl.dto;
 
+import com.jpa.querydsl.condition.Eq;
+import com.jpa.querydsl.condition.Goe;
+import com.jpa.querydsl.condition.Loe;
 import lombok.Data;
 
 @Data
 public class MemberSearchCondition {
 
     // 회원명, 팀명, 나이(goe,loe
+    // 조건 생성은 ConditionCompiler (team.name 은 team 조인 기준)
+    @Eq(path = "member.username")
     private String username;
+    @Eq(path = "team.name")
     private String teamName;
+    @Goe(path = "member.age")
     private Integer ageGoe;
+    @Loe(path = "member.age")
     private Integer ageLoe;
 }
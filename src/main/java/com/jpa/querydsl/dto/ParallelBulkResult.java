@@ -0,0 +1,34 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 병렬 벌크 수정/삭제 결과 (전체 처리량과 파티션별 소요 시간)
+ */
+@Getter
+@ToString
+public class ParallelBulkResult {
+
+    private final long affectedRows;
+    private final long elapsedMillis;
+    private final long maxPartitionMillis;
+    private final double rowsPerSecond;
+    private final List<BulkPartitionReport> partitions;
+
+    public ParallelBulkResult(long elapsedMillis, List<BulkPartitionReport> partitions) {
+        long affectedRows = 0;
+        long maxPartitionMillis = 0;
+        for (BulkPartitionReport partition : partitions) {
+            affectedRows += partition.getAffectedRows();
+            maxPartitionMillis = Math.max(maxPartitionMillis, partition.getElapsedMillis());
+        }
+        this.affectedRows = affectedRows;
+        this.elapsedMillis = elapsedMillis;
+        this.maxPartitionMillis = maxPartitionMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? affectedRows * 1000.0 / elapsedMillis : affectedRows;
+        this.partitions = partitions;
+    }
+}
@@ -0,0 +1,25 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 대량 입력 결과 (팀 수, 회원 수, 소요 시간, 초당 처리 건수)
+ */
+@Getter
+@ToString
+public class SeedResult {
+
+    private final int teams;
+    private final long members;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+
+    public SeedResult(int teams, long members, long elapsedMillis) {
+        this.teams = teams;
+        this.members = members;
+        this.elapsedMillis = elapsedMillis;
+        long rows = teams + members;
+        this.rowsPerSecond = elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : rows;
+    }
+}
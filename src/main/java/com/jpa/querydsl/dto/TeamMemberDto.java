@@ -0,0 +1,22 @@
+package com.jpa.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+/**
+ * 팀 명단(TeamRosterDto)의 회원
+ */
+@Data
+public class TeamMemberDto {
+
+    private Long memberId;
+    private String username;
+    private int age;
+
+    @QueryProjection
+    public TeamMemberDto(Long memberId, String username, int age) {
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+    }
+}
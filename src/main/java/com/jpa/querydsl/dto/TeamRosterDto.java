@@ -0,0 +1,24 @@
+package com.jpa.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 팀과 소속 회원 목록
+ */
+@Data
+public class TeamRosterDto {
+
+    private Long teamId;
+    private String teamName;
+    private List<TeamMemberDto> members = new ArrayList<>();
+
+    @QueryProjection
+    public TeamRosterDto(Long teamId, String teamName) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+    }
+}
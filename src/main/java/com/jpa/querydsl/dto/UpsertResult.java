@@ -0,0 +1,23 @@
+package com.jpa.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * username 기준 upsert 결과 (새로 입력한 건수, 수정한 행 수)
+ * 같은 username 의 행이 여러 개 있었으면 수정한 행 수가 요청 건수보다 많을 수 있다.
+ */
+@Getter
+@ToString
+public class UpsertResult {
+
+    private final long inserted;
+    private final long updated;
+    private final long elapsedMillis;
+
+    public UpsertResult(long inserted, long updated, long elapsedMillis) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.elapsedMillis = elapsedMillis;
+    }
+}
@@ -1,16 +1,38 @@
 package com.jpa.querydsl.entity;
 
+import com.jpa.querydsl.cache.MemberChangeListener;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import javax.persistence.*;
 
 @Entity
+// username 조회, upsert(MERGE ... ON username) 용 인덱스
+// 일괄 변경 등으로 같은 이름의 회원이 생길 수 있어서 unique는 아님 (upsert 는 같은 이름의 행을 모두 수정)
+// age 정렬 + member_id 보조 정렬용 인덱스 (MemberSort)
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"),
+        @Index(name = "idx_member_age", columnList = "age, member_id")
+})
+@EntityListeners(MemberChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// 회원과 팀을 한 번에 읽는 fetch plan (MemberJpaRepository, MemberRepository 의 *WithTeam 메소드)
+@NamedEntityGraph(name = Member.WITH_TEAM, attributeNodes = @NamedAttributeNode("team"))
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
 public class Member {
 
+    public static final String WITH_TEAM = "Member.withTeam";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = "member_seq")
+    @GenericGenerator(name = "member_seq", strategy = "com.jpa.querydsl.entity.PooledSequenceGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "member_seq"))
     @Column(name = "member_id")
     private Long id;
 
@@ -41,4 +63,16 @@ public class Member {
         this.team = team;
         team.getMembers().add(this);
     }
+
+    /**
+     * 대량 입력/수정용 팀 지정
+     * 팀(프록시)이나 team.members 가 아직 로딩되지 않았다면 역방향 컬렉션은 건드리지 않는다.
+     * (changeTeam은 컬렉션에 추가하면서 모든 회원을 메모리에 쌓는다. 로딩되지 않은 컬렉션은 나중에 DB에서 읽으므로 결과는 같다.)
+     */
+    public void assignTeam(Team team) {
+        this.team = team;
+        if (team != null && Hibernate.isInitialized(team) && Hibernate.isInitialized(team.getMembers())) {
+            team.getMembers().add(this);
+        }
+    }
 }
\ No newline at end of file
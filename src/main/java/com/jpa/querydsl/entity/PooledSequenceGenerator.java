@@ -0,0 +1,35 @@
+package com.jpa.querydsl.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * 엔티티별 시퀀스 + pooled-lo 옵티마이저
+ *
+ * 시퀀스를 한 번 호출할 때 allocation size 만큼 id를 미리 받아두므로
+ * 대량 insert 시 행마다 시퀀스를 조회하지 않는다.
+ * allocation size는 어노테이션 상수 대신 설정값(member.id.allocation-size)을 사용한다.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE = "com.jpa.querydsl.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(),
+                DEFAULT_ALLOCATION_SIZE);
+
+        params.putIfAbsent(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
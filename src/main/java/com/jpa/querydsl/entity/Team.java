@@ -1,22 +1,38 @@
 package com.jpa.querydsl.entity;
 
+import com.jpa.querydsl.cache.MemberChangeListener;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(MemberChangeListener.class)
+// 거의 바뀌지 않는 데이터
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+// member.team 프록시, team.members 컬렉션은 default_batch_fetch_size 만큼 IN 으로 묶어서 초기화한다.
+// 연관관계별 배치 크기, SUBSELECT 는 member.fetch.* 로 바꾼다. (FetchOverrideIntegrator)
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
 public class Team {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(generator = "team_seq")
+    @GenericGenerator(name = "team_seq", strategy = "com.jpa.querydsl.entity.PooledSequenceGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "team_seq"))
     @Column(name = "team_id")
     private Long id;
 
     private String name;
 
+    // SUBSELECT 는 처음 팀을 읽은 쿼리를 limit 없이 다시 실행하므로 기본으로는 사용하지 않는다.
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "team")
     List<Member> members = new ArrayList<>();
 
@@ -0,0 +1,33 @@
+package com.jpa.querydsl.instrumentation;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * JDBC 실행 시간을 SqlStatementCounter에 기록한다.
+ * hibernate.session.events.auto 로 등록하면 세션마다 새로 생성되므로 상태를 필드에 둬도 된다.
+ */
+public class JdbcTimingSessionListener extends BaseSessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.statementExecuted(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.statementExecuted(System.nanoTime() - batchStart);
+    }
+}
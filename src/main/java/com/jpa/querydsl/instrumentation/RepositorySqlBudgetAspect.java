@@ -0,0 +1,45 @@
+package com.jpa.querydsl.instrumentation;
+
+import com.jpa.querydsl.instrumentation.SqlStatementCounter.Scope;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리포지토리 메소드 단위 SQL 집계
+ * 리포지토리 안에서 다른 리포지토리를 호출하면 바깥 메소드에서 한 번만 확인한다.
+ * 대량 작업용 StatelessSessionTemplate 은 제외한다.
+ */
+@Aspect
+@Component
+public class RepositorySqlBudgetAspect {
+
+    private static final ThreadLocal<Boolean> IN_REPOSITORY = new ThreadLocal<>();
+
+    private final SqlBudget sqlBudget;
+
+    public RepositorySqlBudgetAspect(SqlBudget sqlBudget) {
+        this.sqlBudget = sqlBudget;
+    }
+
+    @Around("execution(* com.jpa.querydsl.respository..*(..))"
+            + " && !within(com.jpa.querydsl.respository.StatelessSessionTemplate)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!sqlBudget.isEnabled() || IN_REPOSITORY.get() != null) {
+            return joinPoint.proceed();
+        }
+
+        Scope scope = SqlStatementCounter.begin(joinPoint.getSignature().toShortString());
+        IN_REPOSITORY.set(Boolean.TRUE);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } finally {
+            IN_REPOSITORY.remove();
+            SqlStatementCounter.end(scope);
+        }
+        sqlBudget.check(scope, true);
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.jpa.querydsl.instrumentation;
+
+import com.jpa.querydsl.instrumentation.SqlStatementCounter.Scope;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청/메소드 단위 SQL 예산 확인
+ *
+ * - max-statements: 실행 SQL 수 상한
+ * - max-db-time: JDBC 실행 시간 합계 상한
+ * - n-plus-one-threshold: 같은 SQL이 이 횟수 이상 반복되면 N+1 의심
+ *
+ * mode가 warn이면 경고 로그만 남기고, fail이면 SqlBudgetExceededException을 던진다. (테스트용)
+ */
+@Slf4j
+@Component
+public class SqlBudget {
+
+    public enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    private final Mode mode;
+    private final int maxStatements;
+    private final Duration maxDbTime;
+    private final int nPlusOneThreshold;
+
+    public SqlBudget(@Value("${member.sql-budget.mode:warn}") Mode mode,
+                     @Value("${member.sql-budget.max-statements:30}") int maxStatements,
+                     @Value("${member.sql-budget.max-db-time:1s}") Duration maxDbTime,
+                     @Value("${member.sql-budget.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.mode = mode;
+        this.maxStatements = maxStatements;
+        this.maxDbTime = maxDbTime;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    /**
+     * @param mayThrow false면 fail 모드여도 예외 대신 로그를 남긴다. (응답이 이미 나간 HTTP 요청 등)
+     */
+    public void check(Scope scope, boolean mayThrow) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        if (scope.getStatements() > maxStatements) {
+            violations.add("statements " + scope.getStatements() + " > " + maxStatements);
+        }
+        if (scope.getDbMillis() > maxDbTime.toMillis()) {
+            violations.add("db time " + scope.getDbMillis() + "ms > " + maxDbTime.toMillis() + "ms");
+        }
+        for (Map.Entry<String, Integer> entry : scope.getCountsBySql().entrySet()) {
+            if (entry.getValue() >= nPlusOneThreshold) {
+                violations.add("suspected N+1 (" + entry.getValue() + " times): " + entry.getKey());
+            }
+        }
+
+        if (violations.isEmpty()) {
+            log.debug("sql [{}] statements={}, db={}ms, elapsed={}ms",
+                    scope.getName(), scope.getStatements(), scope.getDbMillis(), scope.getElapsedMillis());
+            return;
+        }
+
+        String message = "sql budget exceeded [" + scope.getName() + "] " + String.join(", ", violations);
+        if (mode == Mode.FAIL && mayThrow) {
+            throw new SqlBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.jpa.querydsl.instrumentation;
+
+/**
+ * SQL 실행 횟수, DB 시간 예산 초과 (member.sql-budget.mode=fail)
+ */
+public class SqlBudgetExceededException extends IllegalStateException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
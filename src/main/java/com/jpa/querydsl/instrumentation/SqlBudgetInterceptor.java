@@ -0,0 +1,53 @@
+package com.jpa.querydsl.instrumentation;
+
+import com.jpa.querydsl.instrumentation.SqlStatementCounter.Scope;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * HTTP 요청 단위 SQL 집계
+ * 응답이 끝난 뒤에 확인하므로 fail 모드여도 예외를 던지지 않고 로그만 남긴다.
+ * 비동기 응답(CompletableFuture, StreamingResponseBody)은 요청 스레드에서 실행된 SQL까지만 집계된다.
+ */
+@Component
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".scope";
+
+    private final SqlBudget sqlBudget;
+
+    public SqlBudgetInterceptor(SqlBudget sqlBudget) {
+        this.sqlBudget = sqlBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (sqlBudget.isEnabled()) {
+            request.setAttribute(SCOPE_ATTRIBUTE,
+                    SqlStatementCounter.begin(request.getMethod() + " " + request.getRequestURI()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request);
+    }
+
+    private void finish(HttpServletRequest request) {
+        Object scope = request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope instanceof Scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            SqlStatementCounter.end((Scope) scope);
+            sqlBudget.check((Scope) scope, false);
+        }
+    }
+}
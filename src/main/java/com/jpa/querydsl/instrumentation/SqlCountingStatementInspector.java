@@ -0,0 +1,16 @@
+package com.jpa.querydsl.instrumentation;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 하이버네이트가 준비(prepare)하는 SQL을 SqlStatementCounter에 기록한다.
+ * SQL은 바꾸지 않고 그대로 반환한다.
+ */
+public class SqlCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.statementPrepared(sql);
+        return sql;
+    }
+}
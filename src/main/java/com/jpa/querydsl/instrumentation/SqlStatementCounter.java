@@ -0,0 +1,113 @@
+package com.jpa.querydsl.instrumentation;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 현재 스레드의 SQL 실행 횟수, DB 시간 집계
+ *
+ * HTTP 요청, 리포지토리 메소드 단위로 Scope를 열고 닫는다. Scope는 중첩될 수 있고
+ * 실행된 SQL은 열려있는 모든 Scope에 기록된다.
+ * 스레드 기준이므로 다른 스레드에서 실행되는 작업(비동기 조회, 스트리밍 응답)은 해당 스레드의 Scope에 기록된다.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = new ThreadLocal<>();
+
+    // use_sql_comments 사용시 앞에 붙는 /* JPQL */ 주석 제거
+    private static final Pattern LEADING_COMMENT = Pattern.compile("^\\s*(?:/\\*.*?\\*/\\s*)*", Pattern.DOTALL);
+
+    private SqlStatementCounter() {
+    }
+
+    public static Scope begin(String name) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        Scope scope = new Scope(name);
+        scopes.push(scope);
+        return scope;
+    }
+
+    public static void end(Scope scope) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static void statementPrepared(String sql) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        String normalized = LEADING_COMMENT.matcher(sql).replaceFirst("");
+        for (Scope scope : scopes) {
+            scope.statement(normalized);
+        }
+    }
+
+    static void statementExecuted(long nanos) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (Scope scope : scopes) {
+            scope.dbNanos += nanos;
+        }
+    }
+
+    /**
+     * 한 범위(요청, 메소드)의 집계 결과
+     */
+    public static class Scope {
+
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Integer> countsBySql = new LinkedHashMap<>();
+        private int statements;
+        private long dbNanos;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private void statement(String sql) {
+            statements++;
+            countsBySql.merge(sql, 1, Integer::sum);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getDbMillis() {
+            return dbNanos / 1_000_000;
+        }
+
+        public long getElapsedMillis() {
+            return (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        /**
+         * SQL 문장별 실행 횟수 (파라미터는 ? 이므로 같은 쿼리를 값만 바꿔 반복하면 하나로 모인다)
+         */
+        public Map<String, Integer> getCountsBySql() {
+            return Collections.unmodifiableMap(countsBySql);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.jpa.querydsl.respository;
+
+/**
+ * 허용하지 않는 정렬 (MemberSort, TeamSort)
+ * 리포지토리 프록시가 DataAccessException 으로 변환하지 않도록 IllegalArgumentException 을 상속하지 않는다.
+ */
+public class InvalidSortException extends RuntimeException {
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
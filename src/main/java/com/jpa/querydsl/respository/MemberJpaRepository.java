@@ -1,16 +1,21 @@
 package com.jpa.querydsl.respository;
 
+import com.jpa.querydsl.condition.CompiledCondition;
+import com.jpa.querydsl.condition.ConditionCompiler;
 import com.jpa.querydsl.dto.MemberSearchCondition;
 import com.jpa.querydsl.dto.MemberTeamDto;
 import com.jpa.querydsl.dto.QMemberTeamDto;
 import com.jpa.querydsl.entity.Member;
 import com.jpa.querydsl.entity.QMember;
 import com.jpa.querydsl.entity.QTeam;
+import com.mysema.commons.lang.CloseableIterator;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
-import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
@@ -19,17 +24,23 @@ import java.util.Optional;
 
 import static com.jpa.querydsl.entity.QMember.member;
 import static com.jpa.querydsl.entity.QTeam.team;
+import static com.jpa.querydsl.respository.ReadOnlyQuery.readOnly;
 import static org.springframework.util.StringUtils.hasText;
 
 @Repository
 public class MemberJpaRepository {
 
+    private static final CompiledCondition<MemberSearchCondition> SEARCH_CONDITION =
+            ConditionCompiler.compile(MemberSearchCondition.class, member, team);
+
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberSearchQueryCache searchQueryCache;
 
-    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory) {
+    public MemberJpaRepository(EntityManager em, JPAQueryFactory queryFactory, MemberSearchQueryCache searchQueryCache) {
         this.em = em;
         this.queryFactory = queryFactory;
+        this.searchQueryCache = searchQueryCache;
     }
 
     public void save(Member member) {
@@ -46,6 +57,17 @@ public class MemberJpaRepository {
                 .getResultList();
     }
 
+    /**
+     * 조회 전용 (스냅샷, 자동 flush 없음) 반환된 엔티티를 수정해도 DB에 반영되지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public List<Member> findAllReadOnly() {
+        return em.createQuery("SELECT m FROM Member m", Member.class)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultList();
+    }
+
     public List<Member> findByUsername(String username) {
         return em.createQuery("SELECT m FROM Member m " +
                 "WHERE m.username = :username", Member.class)
@@ -58,13 +80,37 @@ public class MemberJpaRepository {
                 .selectFrom(member).fetch();
     }
 
+    @Transactional(readOnly = true)
+    public List<Member> findAll_QuerydslReadOnly() {
+        return readOnly(queryFactory.selectFrom(member)).fetch();
+    }
+
+    /**
+     * team 까지 한 번에 조회 (Member.WITH_TEAM entity graph)
+     */
+    public List<Member> findAllWithTeam() {
+        return em.createQuery("SELECT m FROM Member m", Member.class)
+                .setHint(QueryHints.HINT_FETCHGRAPH, em.getEntityGraph(Member.WITH_TEAM))
+                .getResultList();
+    }
+
+    public List<Member> findAllWithTeam_Querydsl() {
+        return queryFactory
+                .selectFrom(member)
+                .setHint(QueryHints.HINT_FETCHGRAPH, em.getEntityGraph(Member.WITH_TEAM))
+                .fetch();
+    }
+
     public List<Member> findByUsername_Querydsl(String username) {
         return queryFactory
                 .selectFrom(member)
                 .where(member.username.eq(username))
+                // 쿼리 캐시 사용 (결과 id 목록만 캐시, 엔티티는 2차 캐시에서 조회)
+                .setHint(QueryHints.HINT_CACHEABLE, true)
                 .fetch();
     }
 
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
 
         BooleanBuilder builder = new BooleanBuilder();
@@ -94,7 +140,20 @@ public class MemberJpaRepository {
                 .fetch();
     }
 
+    /**
+     * 조건 형태별로 미리 만들어 둔 JPQL 사용 (MemberSearchQueryCache)
+     */
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return searchQueryCache.search(condition);
+    }
+
+    /**
+     * 대량 조회용 커서
+     * 전체 결과를 List로 만들지 않고 ScrollableResults(FORWARD_ONLY)로 한 건씩 읽는다.
+     * 반환된 iterator는 트랜잭션 안에서 사용하고 반드시 close 해야 한다.
+     */
+    public CloseableIterator<MemberTeamDto> searchIterate(MemberSearchCondition condition, int fetchSize) {
         return queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
@@ -104,29 +163,29 @@ public class MemberJpaRepository {
                         team.name))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .fetch();
-    }
-
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
-    }
-
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
+                .where(SEARCH_CONDITION.predicates(condition))
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .iterate();
     }
 
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    /**
+     * StatelessSession 대량 조회용 커서 (StatelessSessionTemplate.execute() 안에서 사용하고 반드시 close)
+     */
+    public CloseableIterator<MemberTeamDto> searchIterate(StatelessQueryFactory statelessQueryFactory,
+                                                          MemberSearchCondition condition, int fetchSize) {
+        return statelessQueryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.username,
+                        member.age,
+                        team.id,
+                        team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(SEARCH_CONDITION.predicates(condition))
+                .setFetchSize(fetchSize)
+                .iterate();
     }
 
 }
@@ -1,10 +1,24 @@
 package com.jpa.querydsl.respository;
 
 import com.jpa.querydsl.entity.Member;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
+    // 쿼리 캐시 사용
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Member> findByUsername(String username);
+
+    // team 까지 한 번에 조회 (Member.WITH_TEAM entity graph)
+    @EntityGraph(Member.WITH_TEAM)
+    List<Member> findWithTeamByUsername(String username);
+
+    @EntityGraph(Member.WITH_TEAM)
+    @Query("select m from Member m")
+    List<Member> findAllWithTeam();
 }
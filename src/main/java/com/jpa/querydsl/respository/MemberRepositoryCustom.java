@@ -1,10 +1,15 @@
 package com.jpa.querydsl.respository;
 
+import com.jpa.querydsl.dto.CursorSlice;
+import com.jpa.querydsl.dto.EstimatedPage;
+import com.jpa.querydsl.dto.MemberBulkDto;
 import com.jpa.querydsl.dto.MemberSearchCondition;
 import com.jpa.querydsl.dto.MemberTeamDto;
+import com.jpa.querydsl.dto.UpsertResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -12,4 +17,10 @@ public interface MemberRepositoryCustom {
     List<MemberTeamDto> search(MemberSearchCondition condition);
     PageImpl<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    List<MemberTeamDto> searchContent(MemberSearchCondition condition, Pageable pageable);
+    long searchCount(MemberSearchCondition condition);
+    EstimatedPage<MemberTeamDto> searchPageEstimated(MemberSearchCondition condition, Pageable pageable);
+    Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable);
+    CursorSlice<MemberTeamDto> searchSlice(MemberSearchCondition condition, String cursor, int size);
+    UpsertResult upsert(List<MemberBulkDto> members);
 }
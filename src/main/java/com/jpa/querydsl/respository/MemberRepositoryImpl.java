@@ -1,19 +1,47 @@
 package com.jpa.querydsl.respository;
 
+import com.jpa.querydsl.cache.MemberChangeTracker;
+import com.jpa.querydsl.cache.MemberCountCache;
+import com.jpa.querydsl.cache.MemberSearchCache;
+import com.jpa.querydsl.cache.MemberSearchKey;
+import com.jpa.querydsl.cache.TeamDictionary;
+import com.jpa.querydsl.condition.CompiledCondition;
+import com.jpa.querydsl.condition.ConditionCompiler;
+import com.jpa.querydsl.dto.CursorSlice;
+import com.jpa.querydsl.dto.EstimatedPage;
+import com.jpa.querydsl.dto.MemberBulkDto;
+import com.jpa.querydsl.dto.MemberCursor;
 import com.jpa.querydsl.dto.MemberSearchCondition;
 import com.jpa.querydsl.dto.MemberTeamDto;
 import com.jpa.querydsl.dto.QMemberTeamDto;
-import com.querydsl.core.QueryResults;
+import com.jpa.querydsl.dto.UpsertResult;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
-import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.jpa.querydsl.entity.QMember.member;
 import static com.jpa.querydsl.entity.QTeam.team;
@@ -22,105 +50,314 @@ import static org.springframework.util.StringUtils.hasText;
 /**
  * 사용자정의 인터페이스 구현
  * 구현하고자 하는 인터페이스명 + Impl 형태로 클래스명을 만들어야한다.
+ *
+ * 팀 이름 조건과 teamName 프로젝션은 TeamDictionary로 처리해서 team 조인을 하지 않는다.
+ * 조회 메소드는 readOnly 트랜잭션 (read-only 커넥션, FlushMode.MANUAL). 쓰기 트랜잭션 안에서 호출되면 그 트랜잭션을 따른다.
  */
-@RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    /**
+     * H2 MERGE ... KEY(username)는 기존 행의 member_id도 덮어쓰므로 표준 MERGE ... USING 을 사용한다.
+     */
+    private static final String UPSERT_SQL = "MERGE INTO member m"
+            + " USING (SELECT CAST(? AS VARCHAR(255)) username, CAST(? AS INT) age, CAST(? AS BIGINT) team_id) s"
+            + " ON (m.username = s.username)"
+            + " WHEN MATCHED THEN UPDATE SET m.age = s.age, m.team_id = s.team_id"
+            + " WHEN NOT MATCHED THEN INSERT (member_id, username, age, team_id)"
+            + " VALUES (NEXT VALUE FOR member_seq, s.username, s.age, s.team_id)";
+
+    // teamName 은 teamIdIn() 으로 직접 처리
+    private static final CompiledCondition<MemberSearchCondition> SEARCH_CONDITION =
+            ConditionCompiler.compile(MemberSearchCondition.class, member, team).without("teamName");
+
+    private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberCountCache countCache;
+    private final MemberSearchCache searchCache;
+    private final MemberSearchQueryCache searchQueryCache;
+    private final TeamDictionary teamDictionary;
+    private final MemberChangeTracker changeTracker;
+    private final int countEstimateLimit;
+    private final int upsertBatchSize;
+
+    public MemberRepositoryImpl(EntityManager em,
+                                JPAQueryFactory queryFactory,
+                                MemberCountCache countCache,
+                                MemberSearchCache searchCache,
+                                MemberSearchQueryCache searchQueryCache,
+                                TeamDictionary teamDictionary,
+                                MemberChangeTracker changeTracker,
+                                @Value("${member.search.count-estimate.limit:10000}") int countEstimateLimit,
+                                @Value("${member.upsert.batch-size:500}") int upsertBatchSize) {
+        if (upsertBatchSize < 1) {
+            throw new IllegalArgumentException("upsert batch-size는 1 이상이어야 합니다: " + upsertBatchSize);
+        }
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.countCache = countCache;
+        this.searchCache = searchCache;
+        this.searchQueryCache = searchQueryCache;
+        this.teamDictionary = teamDictionary;
+        this.changeTracker = changeTracker;
+        this.countEstimateLimit = countEstimateLimit;
+        this.upsertBatchSize = upsertBatchSize;
+    }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
-                .select(new QMemberTeamDto(
-                        member.id,
-                        member.username,
-                        member.age,
-                        team.id,
-                        team.name))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .fetch();
+        return searchCache.get(MemberSearchKey.of(condition), () -> searchQueryCache.search(condition));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PageImpl<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
-        QueryResults<MemberTeamDto> results = queryFactory
+        List<MemberTeamDto> content = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
                         member.age,
-                        team.id,
-                        team.name))
+                        member.team.id))
                 .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
+                .where(SEARCH_CONDITION.predicates(condition))
+                .where(teamIdIn(condition.getTeamName()))
+                .orderBy(MemberSort.toOrderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
-                .fetchResults();
-        
-        // 내용과 카운트를 한번에 조회
-        // -> 쿼리 2번 호출
+                .fetch();
+        fillTeamNames(content);
 
-        List<MemberTeamDto> content = results.getResults();
-        long total = results.getTotal();
+        // fetchResults()는 내용 쿼리를 그대로 count로 감싸므로 별도의 count 쿼리 사용
+        long total = countCache.getExact(MemberSearchKey.of(condition),
+                () -> countQuery(condition).fetchOne());
 
         return new PageImpl<>(content, pageable, total);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
         List<MemberTeamDto> content = getContents(condition, pageable);
 
-        JPAQuery<MemberTeamDto> countQuery = queryFactory
+        JPAQuery<Long> countQuery = countQuery(condition);
+
+        // return new PageImpl<>(content, pageable, countQuery.fetchOne());
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> countCache.getExact(MemberSearchKey.of(condition), countQuery::fetchOne));
+    }
+
+    /**
+     * 내용, 카운트를 따로 실행할 때 사용 (MemberSearchService 병렬 조회)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<MemberTeamDto> searchContent(MemberSearchCondition condition, Pageable pageable) {
+        return getContents(condition, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long searchCount(MemberSearchCondition condition) {
+        return countCache.getExact(MemberSearchKey.of(condition), () -> countQuery(condition).fetchOne());
+    }
+
+    /**
+     * 카운트를 상한(limit)까지만 센다.
+     * 상한 + 1 번째 행의 id 하나만 조회해서 있으면 상한 초과, 없으면 그때만 정확한 카운트를 실행한다.
+     * (JPQL은 FROM 절 서브쿼리, 서브쿼리 limit 을 지원하지 않으므로 두 쿼리로 나눈다. 어느 쪽이든 DB는 값 하나만 반환한다)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EstimatedPage<MemberTeamDto> searchPageEstimated(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = getContents(condition, pageable);
+
+        long counted = countCache.getEstimated(MemberSearchKey.of(condition), () -> {
+            Long overLimit = queryFactory
+                    .select(member.id)
+                    .from(member)
+                    .where(SEARCH_CONDITION.predicates(condition))
+                    .where(teamIdIn(condition.getTeamName()))
+                    .offset(countEstimateLimit)
+                    .fetchFirst();
+            return overLimit != null ? countEstimateLimit + 1L : countQuery(condition).fetchOne();
+        });
+
+        boolean totalExact = counted <= countEstimateLimit;
+        return new EstimatedPage<>(content, pageable, Math.min(counted, countEstimateLimit), totalExact);
+    }
+
+    /**
+     * 카운트 없이 다음 페이지 여부만 확인
+     * pageSize + 1 건을 조회해서 초과분이 있으면 다음 페이지가 있다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<MemberTeamDto> searchSlice(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
                         member.age,
-                        team.id,
-                        team.name))
+                        member.team.id))
                 .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                );
-        // 카운트 조회 최적화(조인 쿼리 제거시 성능 상승)
+                .where(SEARCH_CONDITION.predicates(condition))
+                .where(teamIdIn(condition.getTeamName()))
+                .orderBy(MemberSort.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .fetch();
+        fillTeamNames(content);
 
-        // return new PageImpl<>(content, pageable, countQuery.fetchCount());
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchCount);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = content.subList(0, pageable.getPageSize());
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
     }
 
-    private long getTotal(MemberSearchCondition condition) {
-        long total = queryFactory
+    /**
+     * 커서(keyset) 페이징
+     * offset 대신 마지막 member_id 이후부터 조회하므로 페이지 번호와 상관없이 비용이 같다.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSlice<MemberTeamDto> searchSlice(MemberSearchCondition condition, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size는 1 이상이어야 합니다: " + size);
+        }
+        Long lastMemberId = MemberCursor.decode(cursor);
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<MemberTeamDto> content = queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.username,
                         member.age,
-                        team.id,
-                        team.name))
+                        member.team.id))
+                .from(member)
+                .where(SEARCH_CONDITION.predicates(condition))
+                .where(memberIdGt(lastMemberId), teamIdIn(condition.getTeamName()))
+                .orderBy(member.id.asc())
+                .limit(size + 1)
+                .fetch();
+        fillTeamNames(content);
+
+        if (content.size() <= size) {
+            return new CursorSlice<>(content, null);
+        }
+        content = content.subList(0, size);
+        Long nextMemberId = content.get(size - 1).getMemberId();
+        return new CursorSlice<>(content, MemberCursor.encode(nextMemberId));
+    }
+
+    /**
+     * username 기준 입력 또는 수정
+     * batch-size 건씩 JDBC 배치로 MERGE 하므로 건당 조회 + 저장 왕복이 없다.
+     * 같은 username이 여러 번 있으면 마지막 값을 사용한다.
+     *
+     * member.username 은 unique 가 아니다. (일괄 변경 등으로 같은 이름이 생길 수 있음)
+     * - 이미 같은 username 의 행이 여러 개면 모두 수정되고, updated 는 수정된 행 수로 센다. (executeBatch 결과)
+     * - 입력 여부는 실행 전에 확인하므로 같은 username 을 동시에 upsert 하면 둘 다 입력될 수 있다.
+     *   username 별 동기화는 한 작업에서만 실행해야 한다.
+     *
+     * 영속성 컨텍스트를 거치지 않으므로 실행 전에 flush, 실행 후에 clear 하고 2차 캐시를 비운다.
+     *
+     * @throws IllegalArgumentException username이 없거나 팀 이름을 찾을 수 없을 때 (아무것도 저장하지 않음)
+     */
+    @Override
+    @Transactional
+    public UpsertResult upsert(List<MemberBulkDto> members) {
+        long start = System.currentTimeMillis();
+
+        Map<String, MemberBulkDto> byUsername = new LinkedHashMap<>();
+        Map<String, Long> teamIds = new LinkedHashMap<>();
+        for (MemberBulkDto dto : members) {
+            if (!hasText(dto.getUsername())) {
+                throw new IllegalArgumentException("username이 없습니다: " + dto);
+            }
+            byUsername.remove(dto.getUsername());
+            byUsername.put(dto.getUsername(), dto);
+            teamIds.put(dto.getUsername(), teamIdOf(dto.getTeamName()));
+        }
+        if (byUsername.isEmpty()) {
+            return new UpsertResult(0, 0, 0);
+        }
+
+        em.flush();
+
+        List<String> usernames = new ArrayList<>(byUsername.keySet());
+        long inserted = 0;
+        long updated = 0;
+        for (int from = 0; from < usernames.size(); from += upsertBatchSize) {
+            List<String> batch = usernames.subList(from, Math.min(usernames.size(), from + upsertBatchSize));
+            int batchInserted = batch.size() - existingUsernames(batch).size();
+            int affected = em.unwrap(Session.class).doReturningWork(connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL)) {
+                    for (String username : batch) {
+                        Long teamId = teamIds.get(username);
+                        ps.setString(1, username);
+                        ps.setInt(2, byUsername.get(username).getAge());
+                        if (teamId != null) {
+                            ps.setLong(3, teamId);
+                        } else {
+                            ps.setNull(3, Types.BIGINT);
+                        }
+                        ps.addBatch();
+                    }
+                    int rows = 0;
+                    for (int count : ps.executeBatch()) {
+                        rows += count;
+                    }
+                    return rows;
+                }
+            });
+            inserted += batchInserted;
+            updated += affected - batchInserted;
+        }
+
+        em.clear();
+        // doWork는 하이버네이트가 변경 테이블을 모르므로 엔티티, 컬렉션, 쿼리 캐시를 직접 비운다.
+        Cache cache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Member.class);
+        cache.evictCollectionData(Team.class.getName() + ".members");
+        cache.evictQueryRegions();
+        changeTracker.changed(Member.class);
+
+        return new UpsertResult(inserted, updated, System.currentTimeMillis() - start);
+    }
+
+    private Long teamIdOf(String teamName) {
+        if (!hasText(teamName)) {
+            return null;
+        }
+        List<Long> ids = teamDictionary.idsOf(teamName);
+        if (ids.size() != 1) {
+            throw new IllegalArgumentException(ids.isEmpty()
+                    ? "팀이 없습니다: " + teamName
+                    : "같은 이름의 팀이 여러 개입니다: " + teamName);
+        }
+        return ids.get(0);
+    }
+
+    private Set<String> existingUsernames(List<String> usernames) {
+        return new HashSet<>(queryFactory
+                .select(member.username)
+                .distinct()
                 .from(member)
-                .join(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
-                .fetchCount();
-        return total;
+                .where(member.username.in(usernames))
+                .fetch());
+    }
+
+    /**
+     * 카운트 쿼리 최적화
+     * 프로젝션 없이 count만 조회하고, 팀 조건은 team_id IN 으로 처리해서 조인하지 않는다.
+     */
+    private JPAQuery<Long> countQuery(MemberSearchCondition condition) {
+        return queryFactory
+                .select(member.count())
+                .from(member)
+                .where(SEARCH_CONDITION.predicates(condition))
+                .where(teamIdIn(condition.getTeamName()));
     }
 
     private List<MemberTeamDto> getContents(MemberSearchCondition condition, Pageable pageable) {
@@ -129,36 +366,37 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                         member.id,
                         member.username,
                         member.age,
-                        team.id,
-                        team.name))
+                        member.team.id))
                 .from(member)
-                .join(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        ageGoe(condition.getAgeGoe()),
-                        ageLoe(condition.getAgeLoe())
-                )
+                .where(SEARCH_CONDITION.predicates(condition))
+                .where(member.team.id.isNotNull(), teamIdIn(condition.getTeamName()))
+                .orderBy(MemberSort.toOrderSpecifiers(pageable.getSort()))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
+        fillTeamNames(content);
         return content;
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
+    private void fillTeamNames(List<MemberTeamDto> content) {
+        for (MemberTeamDto dto : content) {
+            dto.setTeamName(teamDictionary.nameOf(dto.getTeamId()));
+        }
     }
 
-    private BooleanExpression ageGoe(Integer ageGoe) {
-        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    private BooleanExpression memberIdGt(Long lastMemberId) {
+        return lastMemberId != null ? member.id.gt(lastMemberId) : null;
     }
 
-    private BooleanExpression ageLoe(Integer ageLoe) {
-        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    /**
+     * 해당 이름의 팀이 없으면 결과가 없어야 하므로 항상 거짓인 조건을 반환한다.
+     */
+    private BooleanExpression teamIdIn(String teamName) {
+        if (!hasText(teamName)) {
+            return null;
+        }
+        List<Long> teamIds = teamDictionary.idsOf(teamName);
+        return teamIds.isEmpty() ? Expressions.FALSE.isTrue() : member.team.id.in(teamIds);
     }
 
 }
@@ -0,0 +1,181 @@
+package com.jpa.querydsl.respository;
+
+import com.jpa.querydsl.cache.TeamDictionary;
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.dto.MemberTeamDto;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAProvider;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAUtil;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.jpa.querydsl.entity.QMember.member;
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 검색 조건 형태(shape)별 JPQL 캐시
+ *
+ * 검색 조건은 username, teamName, ageGoe, ageLoe 각각의 유무로 16가지 형태뿐이다.
+ * 형태별로 파라미터(Param)를 사용한 쿼리를 한 번만 만들어 JPQL 문자열로 직렬화해 두고,
+ * 요청마다 Querydsl 표현식 트리 생성, 직렬화 없이 파라미터만 바인딩한다.
+ * 같은 JPQL 문자열을 사용하므로 하이버네이트 쿼리 플랜 캐시도 항상 적중한다.
+ *
+ * 팀 이름 조건은 TeamDictionary로 팀 id 목록으로 바꿔서 team 조인 없이 조회한다.
+ */
+@Component
+public class MemberSearchQueryCache {
+
+    static final int USERNAME = 1;
+    static final int TEAM_NAME = 1 << 1;
+    static final int AGE_GOE = 1 << 2;
+    static final int AGE_LOE = 1 << 3;
+
+    private static final Param<String> USERNAME_PARAM = new Param<>(String.class, "username");
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Param<Collection<Long>> TEAM_IDS_PARAM = new Param<>((Class) Collection.class, "teamIds");
+    private static final Param<Integer> AGE_GOE_PARAM = new Param<>(Integer.class, "ageGoe");
+    private static final Param<Integer> AGE_LOE_PARAM = new Param<>(Integer.class, "ageLoe");
+
+    private final EntityManager em;
+    private final TeamDictionary teamDictionary;
+    private final JPQLTemplates templates;
+    private final AtomicReferenceArray<SearchTemplate> shapes = new AtomicReferenceArray<>(16);
+
+    public MemberSearchQueryCache(EntityManager em, TeamDictionary teamDictionary) {
+        this.em = em;
+        this.teamDictionary = teamDictionary;
+        this.templates = JPAProvider.getTemplates(em);
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        Query query = createQuery(condition);
+        if (query == null) {
+            return new ArrayList<>();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+
+        List<MemberTeamDto> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long teamId = (Long) row[3];
+            result.add(new MemberTeamDto(
+                    (Long) row[0],
+                    (String) row[1],
+                    (Integer) row[2],
+                    teamId,
+                    teamDictionary.nameOf(teamId)));
+        }
+        return result;
+    }
+
+    /**
+     * @return 해당 이름의 팀이 없어서 결과가 없는 경우 null
+     */
+    Query createQuery(MemberSearchCondition condition) {
+        int shape = shapeOf(condition);
+        SearchTemplate template = template(shape);
+
+        Map<ParamExpression<?>, Object> params = new HashMap<>(8);
+        if ((shape & USERNAME) != 0) {
+            params.put(USERNAME_PARAM, condition.getUsername());
+        }
+        if ((shape & TEAM_NAME) != 0) {
+            List<Long> teamIds = teamDictionary.idsOf(condition.getTeamName());
+            if (teamIds.isEmpty()) {
+                return null;
+            }
+            params.put(TEAM_IDS_PARAM, teamIds);
+        }
+        if ((shape & AGE_GOE) != 0) {
+            params.put(AGE_GOE_PARAM, condition.getAgeGoe());
+        }
+        if ((shape & AGE_LOE) != 0) {
+            params.put(AGE_LOE_PARAM, condition.getAgeLoe());
+        }
+
+        Query query = em.createQuery(template.jpql);
+        JPAUtil.setConstants(query, template.constants, params);
+        return query;
+    }
+
+    static int shapeOf(MemberSearchCondition condition) {
+        int shape = 0;
+        if (hasText(condition.getUsername())) {
+            shape |= USERNAME;
+        }
+        if (hasText(condition.getTeamName())) {
+            shape |= TEAM_NAME;
+        }
+        if (condition.getAgeGoe() != null) {
+            shape |= AGE_GOE;
+        }
+        if (condition.getAgeLoe() != null) {
+            shape |= AGE_LOE;
+        }
+        return shape;
+    }
+
+    private SearchTemplate template(int shape) {
+        SearchTemplate template = shapes.get(shape);
+        if (template == null) {
+            // 동시에 만들어져도 결과가 같으므로 먼저 저장된 것을 사용
+            shapes.compareAndSet(shape, null, compile(shape));
+            template = shapes.get(shape);
+        }
+        return template;
+    }
+
+    private SearchTemplate compile(int shape) {
+        BooleanBuilder where = new BooleanBuilder();
+        if ((shape & USERNAME) != 0) {
+            where.and(member.username.eq(USERNAME_PARAM));
+        }
+        if ((shape & TEAM_NAME) != 0) {
+            where.and(Expressions.booleanOperation(Ops.IN, member.team.id, TEAM_IDS_PARAM));
+        }
+        if ((shape & AGE_GOE) != 0) {
+            where.and(member.age.goe(AGE_GOE_PARAM));
+        }
+        if ((shape & AGE_LOE) != 0) {
+            where.and(member.age.loe(AGE_LOE_PARAM));
+        }
+
+        JPAQuery<?> query = new JPAQuery<Void>(em, templates)
+                .select(member.id,
+                        member.username,
+                        member.age,
+                        member.team.id)
+                .from(member)
+                .where(where);
+
+        JPQLSerializer serializer = new JPQLSerializer(templates, em);
+        serializer.serialize(query.getMetadata(), false, null);
+        return new SearchTemplate(serializer.toString(), new HashMap<>(serializer.getConstantToAllLabels()));
+    }
+
+    private static class SearchTemplate {
+        private final String jpql;
+        private final Map<Object, String> constants;
+
+        private SearchTemplate(String jpql, Map<Object, String> constants) {
+            this.jpql = jpql;
+            this.constants = constants;
+        }
+    }
+}
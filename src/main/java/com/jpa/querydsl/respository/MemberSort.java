@@ -0,0 +1,91 @@
+package com.jpa.querydsl.respository;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jpa.querydsl.entity.QMember.member;
+
+/**
+ * 회원 검색 정렬 (Pageable.getSort() -> OrderSpecifier)
+ *
+ * 인덱스가 있는 컬럼만 허용해서 정렬 요청이 전체 정렬(filesort)이 되지 않게 한다.
+ * - memberId: PK
+ * - username: idx_member_username
+ * - age: idx_member_age (age, member_id)
+ * - teamId: team_id FK 인덱스
+ * teamName 은 team 조인 없이 조회하므로 정렬할 수 없다.
+ *
+ * 같은 값끼리 페이지 경계에서 순서가 바뀌지 않도록 마지막에 member.id 를 붙인다.
+ *
+ * 인덱스 하나를 한 방향으로 읽을 수 있는 형태만 허용한다.
+ * - 속성 하나 (member.id 는 같은 방향으로 붙인다)
+ * - 속성 하나 + 같은 방향의 memberId
+ * 속성 여러 개, 방향이 섞인 정렬은 인덱스로 처리할 수 없으므로 거부한다.
+ */
+final class MemberSort {
+
+    private static final Map<String, ComparableExpressionBase<?>> SORTABLE;
+
+    static {
+        Map<String, ComparableExpressionBase<?>> sortable = new LinkedHashMap<>();
+        sortable.put("memberId", member.id);
+        sortable.put("username", member.username);
+        sortable.put("age", member.age);
+        sortable.put("teamId", member.team.id);
+        SORTABLE = Collections.unmodifiableMap(sortable);
+    }
+
+    private static final Map<String, OrderSpecifier<?>> ASC = orders(Order.ASC);
+    private static final Map<String, OrderSpecifier<?>> DESC = orders(Order.DESC);
+
+    private MemberSort() {
+    }
+
+    /**
+     * 정렬 조건이 없으면 빈 배열 (orderBy 를 붙이지 않는다)
+     *
+     * @throws InvalidSortException 허용하지 않는 정렬 속성, 형태
+     */
+    static OrderSpecifier<?>[] toOrderSpecifiers(Sort sort) {
+        if (sort.isUnsorted()) {
+            return new OrderSpecifier<?>[0];
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        Sort.Order key = orders.get(0);
+        Map<String, OrderSpecifier<?>> specifiers = key.isAscending() ? ASC : DESC;
+        OrderSpecifier<?> specifier = specifiers.get(key.getProperty());
+        if (specifier == null) {
+            throw new InvalidSortException("정렬할 수 없는 속성입니다: " + key.getProperty()
+                    + " (가능한 속성: " + SORTABLE.keySet() + ")");
+        }
+        if (orders.size() > 2 || (orders.size() == 2 && !isTiebreaker(key, orders.get(1)))) {
+            throw new InvalidSortException("정렬은 속성 하나만 가능합니다. (뒤에 같은 방향의 memberId 만 붙일 수 있음): " + sort);
+        }
+
+        if ("memberId".equals(key.getProperty())) {
+            return new OrderSpecifier<?>[]{specifier};
+        }
+        return new OrderSpecifier<?>[]{specifier, specifiers.get("memberId")};
+    }
+
+    private static boolean isTiebreaker(Sort.Order key, Sort.Order next) {
+        return !"memberId".equals(key.getProperty())
+                && "memberId".equals(next.getProperty())
+                && key.getDirection() == next.getDirection();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<String, OrderSpecifier<?>> orders(Order order) {
+        Map<String, OrderSpecifier<?>> orders = new LinkedHashMap<>();
+        SORTABLE.forEach((property, path) -> orders.put(property, new OrderSpecifier(order, path)));
+        return Collections.unmodifiableMap(orders);
+    }
+}
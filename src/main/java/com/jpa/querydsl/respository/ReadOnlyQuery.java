@@ -0,0 +1,26 @@
+package com.jpa.querydsl.respository;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.QueryHints;
+
+/**
+ * 조회 전용 쿼리 힌트
+ *
+ * - org.hibernate.readOnly: 조회한 엔티티의 스냅샷을 만들지 않는다. (변경 감지, flush 대상 제외)
+ * - org.hibernate.flushMode=MANUAL: 쿼리 실행 전에 자동 flush 하지 않는다.
+ *   같은 트랜잭션에서 아직 flush 되지 않은 변경은 결과에 반영되지 않으므로 조회만 하는 메소드에서 사용한다.
+ *
+ * 커넥션 read-only, 세션 기본 read-only 는 @Transactional(readOnly = true) 로 함께 지정한다.
+ */
+final class ReadOnlyQuery {
+
+    private ReadOnlyQuery() {
+    }
+
+    static <T> JPAQuery<T> readOnly(JPAQuery<T> query) {
+        return query
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    }
+}
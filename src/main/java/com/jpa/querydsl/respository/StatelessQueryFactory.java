@@ -0,0 +1,65 @@
+package com.jpa.querydsl.respository;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.jpa.hibernate.HibernateDeleteClause;
+import com.querydsl.jpa.hibernate.HibernateQuery;
+import com.querydsl.jpa.hibernate.HibernateUpdateClause;
+import org.hibernate.StatelessSession;
+
+import java.io.Serializable;
+
+/**
+ * StatelessSession 용 JPAQueryFactory
+ *
+ * 1차 캐시, 변경 감지, 2차 캐시, 엔티티 리스너, 지연 로딩이 없다.
+ * 조회한 엔티티는 바로 준영속 상태이므로 연관 엔티티는 fetch join 이나 프로젝션으로 읽는다.
+ * StatelessSessionTemplate.execute() 안에서만 사용한다.
+ */
+public class StatelessQueryFactory {
+
+    private final StatelessSession session;
+    private boolean written;
+
+    StatelessQueryFactory(StatelessSession session) {
+        this.session = session;
+    }
+
+    public <T> HibernateQuery<T> select(Expression<T> expr) {
+        return new HibernateQuery<Void>(session).select(expr);
+    }
+
+    public <T> HibernateQuery<T> selectFrom(EntityPath<T> from) {
+        return select(from).from(from);
+    }
+
+    public HibernateUpdateClause update(EntityPath<?> path) {
+        written = true;
+        return new HibernateUpdateClause(session, path);
+    }
+
+    public HibernateDeleteClause delete(EntityPath<?> path) {
+        written = true;
+        return new HibernateDeleteClause(session, path);
+    }
+
+    /**
+     * 바로 insert 를 실행하고 id를 반환한다. (id는 엔티티에도 채워진다)
+     */
+    public Serializable insert(Object entity) {
+        written = true;
+        return session.insert(entity);
+    }
+
+    public <T> T get(Class<T> entityClass, Serializable id) {
+        return entityClass.cast(session.get(entityClass, id));
+    }
+
+    public StatelessSession getSession() {
+        return session;
+    }
+
+    boolean isWritten() {
+        return written;
+    }
+}
@@ -0,0 +1,71 @@
+package com.jpa.querydsl.respository;
+
+import com.jpa.querydsl.cache.MemberChangeTracker;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.function.Function;
+
+/**
+ * 대량 조회/입력용 StatelessSession 실행
+ *
+ * 세션을 열고 트랜잭션 하나로 작업을 실행한 뒤 커밋하고 닫는다.
+ * 영속성 컨텍스트가 없으므로 건수가 늘어도 메모리가 늘지 않고 flush(변경 감지) 비용이 없다.
+ *
+ * 스프링 트랜잭션과 별개의 커넥션을 사용하므로 트랜잭션 안에서 호출하면 IllegalStateException.
+ * (호출한 트랜잭션의 flush 되지 않은 변경이 보이지 않고, 롤백도 함께 되지 않는다)
+ * 2차 캐시를 거치지 않으므로 변경이 있었으면 커밋 후에 Member, Team 관련 캐시 리전을 비운다.
+ * (member, team SQL 은 MemberWriteStatementInspector 가 감지하고, MemberChangedEvent 는 작업이 끝난 뒤 한 번 발행된다)
+ */
+@Component
+public class StatelessSessionTemplate {
+
+    private final SessionFactory sessionFactory;
+    private final MemberChangeTracker changeTracker;
+
+    public StatelessSessionTemplate(EntityManagerFactory emf, MemberChangeTracker changeTracker) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+        this.changeTracker = changeTracker;
+    }
+
+    public <T> T execute(Function<StatelessQueryFactory, T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("StatelessSession 작업은 트랜잭션 밖에서 호출해야 합니다.");
+        }
+        return changeTracker.deferring(() -> executeInSession(work));
+    }
+
+    private <T> T executeInSession(Function<StatelessQueryFactory, T> work) {
+        StatelessQueryFactory queryFactory;
+        T result;
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            queryFactory = new StatelessQueryFactory(session);
+            Transaction tx = session.beginTransaction();
+            try {
+                result = work.apply(queryFactory);
+                tx.commit();
+            } catch (RuntimeException | Error e) {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                throw e;
+            }
+        }
+
+        if (queryFactory.isWritten()) {
+            Cache cache = sessionFactory.getCache();
+            cache.evictEntityData(Member.class);
+            cache.evictEntityData(Team.class);
+            cache.evictCollectionData(Team.class.getName() + ".members");
+            cache.evictQueryRegions();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,7 @@
+package com.jpa.querydsl.respository;
+
+import com.jpa.querydsl.entity.Team;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TeamRepository extends JpaRepository<Team, Long>, TeamRepositoryCustom {
+}
@@ -0,0 +1,9 @@
+package com.jpa.querydsl.respository;
+
+import com.jpa.querydsl.dto.TeamRosterDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface TeamRepositoryCustom {
+    Page<TeamRosterDto> searchRoster(String teamNamePrefix, Pageable pageable);
+}
@@ -0,0 +1,83 @@
+package com.jpa.querydsl.respository;
+
+import com.jpa.querydsl.dto.QTeamMemberDto;
+import com.jpa.querydsl.dto.QTeamRosterDto;
+import com.jpa.querydsl.dto.TeamMemberDto;
+import com.jpa.querydsl.dto.TeamRosterDto;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.jpa.querydsl.entity.QMember.member;
+import static com.jpa.querydsl.entity.QTeam.team;
+import static com.querydsl.core.group.GroupBy.groupBy;
+import static com.querydsl.core.group.GroupBy.list;
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 팀 명단 조회
+ *
+ * team 과 member 를 조인해서 페이징하면 회원 행 기준으로 잘리므로 두 단계로 나눈다.
+ * 1. 팀만 페이징 (정렬은 TeamSort, 기본은 team_id 순)
+ * 2. 해당 팀들의 회원을 team_id IN (...) 한 번으로 읽고 GroupBy.transform 으로 팀별로 묶는다.
+ * 팀 수와 상관없이 쿼리는 내용 2번 + 카운트 1번이다. (Team.getMembers() 순회는 팀마다 1번)
+ */
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    public TeamRepositoryImpl(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    @Override
+    public Page<TeamRosterDto> searchRoster(String teamNamePrefix, Pageable pageable) {
+        List<TeamRosterDto> content = queryFactory
+                .select(new QTeamRosterDto(team.id, team.name))
+                .from(team)
+                .where(teamNameStartsWith(teamNamePrefix))
+                .orderBy(TeamSort.toOrderSpecifiers(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        Map<Long, List<TeamMemberDto>> membersByTeam = membersOf(
+                content.stream().map(TeamRosterDto::getTeamId).collect(Collectors.toList()));
+        content.forEach(roster ->
+                roster.setMembers(membersByTeam.getOrDefault(roster.getTeamId(), Collections.emptyList())));
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(team.count())
+                .from(team)
+                .where(teamNameStartsWith(teamNamePrefix));
+
+        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    }
+
+    /**
+     * team_id -> 회원 목록 (member_id 순)
+     */
+    private Map<Long, List<TeamMemberDto>> membersOf(List<Long> teamIds) {
+        if (teamIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return queryFactory
+                .from(member)
+                .where(member.team.id.in(teamIds))
+                .orderBy(member.team.id.asc(), member.id.asc())
+                .transform(groupBy(member.team.id).as(
+                        list(new QTeamMemberDto(member.id, member.username, member.age))));
+    }
+
+    private BooleanExpression teamNameStartsWith(String teamNamePrefix) {
+        return hasText(teamNamePrefix) ? team.name.startsWith(teamNamePrefix) : null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.jpa.querydsl.respository;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jpa.querydsl.entity.QTeam.team;
+
+/**
+ * 팀 명단 정렬 (Pageable.getSort() -> OrderSpecifier)
+ *
+ * - teamId: PK
+ * - teamName: 팀은 거의 바뀌지 않는 적은 수의 데이터라 인덱스 없이 정렬한다.
+ *
+ * 속성 하나만 허용하고, 같은 이름끼리 페이지 경계에서 순서가 바뀌지 않도록 같은 방향의 team.id 를 붙인다.
+ * 정렬 조건이 없으면 team.id 순
+ */
+final class TeamSort {
+
+    private static final Map<String, ComparableExpressionBase<?>> SORTABLE;
+
+    static {
+        Map<String, ComparableExpressionBase<?>> sortable = new LinkedHashMap<>();
+        sortable.put("teamId", team.id);
+        sortable.put("teamName", team.name);
+        SORTABLE = Collections.unmodifiableMap(sortable);
+    }
+
+    private TeamSort() {
+    }
+
+    /**
+     * @throws InvalidSortException 허용하지 않는 정렬 속성, 속성 여러 개
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static OrderSpecifier<?>[] toOrderSpecifiers(Sort sort) {
+        if (sort.isUnsorted()) {
+            return new OrderSpecifier<?>[]{team.id.asc()};
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() > 1) {
+            throw new InvalidSortException("팀 정렬은 속성 하나만 가능합니다: " + sort);
+        }
+        Sort.Order key = orders.get(0);
+        ComparableExpressionBase<?> path = SORTABLE.get(key.getProperty());
+        if (path == null) {
+            throw new InvalidSortException("정렬할 수 없는 속성입니다: " + key.getProperty()
+                    + " (가능한 속성: " + SORTABLE.keySet() + ")");
+        }
+
+        Order order = key.isAscending() ? Order.ASC : Order.DESC;
+        if (path == team.id) {
+            return new OrderSpecifier<?>[]{new OrderSpecifier(order, team.id)};
+        }
+        return new OrderSpecifier<?>[]{new OrderSpecifier(order, path), new OrderSpecifier(order, team.id)};
+    }
+}
@@ -0,0 +1,11 @@
+package com.jpa.querydsl.service;
+
+/**
+ * 대량 입력 요청 본문 형식 오류 (POST /members/bulk 400)
+ */
+public class InvalidBulkRequestException extends RuntimeException {
+
+    public InvalidBulkRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,156 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.BulkUpdateResult;
+import com.jpa.querydsl.entity.Team;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.jpa.querydsl.entity.QMember.member;
+
+/**
+ * member_id 범위로 나눠서 실행하는 벌크 수정/삭제
+ *
+ * 한 번의 update/delete는 대상 전체에 락을 잡고 undo 로그를 크게 만들기 때문에
+ * chunk-size 만큼의 id 범위마다 따로 커밋하고, 청크 사이에 throttle 만큼 쉰다.
+ * 청크마다 트랜잭션(영속성 컨텍스트)이 새로 열리고 실행 후 비우므로 호출하는 쪽에서 flush/clear 할 필요가 없다.
+ *
+ * 호출한 쪽 트랜잭션의 커밋되지 않은 변경과 락이 겹칠 수 있으므로 트랜잭션 밖에서만 호출할 수 있다.
+ */
+@Slf4j
+@Service
+public class MemberBulkUpdateService {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate tx;
+    private final long chunkSize;
+    private final Duration throttle;
+
+    public MemberBulkUpdateService(EntityManager em,
+                                   JPAQueryFactory queryFactory,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${member.bulk-update.chunk-size:10000}") long chunkSize,
+                                   @Value("${member.bulk-update.throttle:0ms}") Duration throttle) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunk-size는 1 이상이어야 합니다: " + chunkSize);
+        }
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.throttle = throttle;
+    }
+
+    /**
+     * @param where 대상 조건 (null이면 전체)
+     * @param set   수정할 값 지정 ex) update -> update.set(member.age, member.age.add(1))
+     */
+    public BulkUpdateResult update(Predicate where, Consumer<JPAUpdateClause> set) {
+        return execute("update", where, range -> {
+            JPAUpdateClause update = queryFactory.update(member).where(where, range);
+            set.accept(update);
+            return update.execute();
+        });
+    }
+
+    /**
+     * 대상 회원의 팀을 한 번에 변경 (회원, 팀 엔티티를 읽지 않는다)
+     * team.members 컬렉션 캐시는 하이버네이트 벌크 연산 정리(BulkOperationCleanupAction)에서 비워진다.
+     *
+     * @param where  대상 조건 (null이면 전체)
+     * @param teamId 변경할 팀 (null이면 팀 없음)
+     */
+    public BulkUpdateResult reassignTeam(Predicate where, Long teamId) {
+        return update(where, update -> {
+            if (teamId == null) {
+                update.setNull(member.team);
+            } else {
+                update.set(member.team, em.getReference(Team.class, teamId));
+            }
+        });
+    }
+
+    /**
+     * @param where 대상 조건 (null이면 전체)
+     */
+    public BulkUpdateResult delete(Predicate where) {
+        return execute("delete", where, range -> queryFactory.delete(member).where(where, range).execute());
+    }
+
+    private BulkUpdateResult execute(String operation, Predicate where, Function<BooleanExpression, Long> statement) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("청크마다 커밋해야 하므로 트랜잭션 밖에서 호출해야 합니다.");
+        }
+        long start = System.currentTimeMillis();
+
+        Tuple idRange = tx.execute(status -> queryFactory
+                .select(member.id.min(), member.id.max())
+                .from(member)
+                .where(where)
+                .fetchOne());
+        Long minId = idRange != null ? idRange.get(member.id.min()) : null;
+        Long maxId = idRange != null ? idRange.get(member.id.max()) : null;
+        if (minId == null || maxId == null) {
+            return new BulkUpdateResult(0, 0, System.currentTimeMillis() - start, 0);
+        }
+
+        int chunks = 0;
+        long affected = 0;
+        long maxChunkMillis = 0;
+        long totalChunks = (maxId - minId) / chunkSize + 1;
+
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            if (chunks > 0) {
+                pause();
+            }
+
+            long chunkStart = System.currentTimeMillis();
+            BooleanExpression range = member.id.goe(from).and(member.id.lt(from + chunkSize));
+            long count = tx.execute(status -> {
+                long result = statement.apply(range);
+                // 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 남아있는 엔티티를 비운다.
+                em.clear();
+                return result;
+            });
+            long chunkMillis = System.currentTimeMillis() - chunkStart;
+
+            chunks++;
+            affected += count;
+            maxChunkMillis = Math.max(maxChunkMillis, chunkMillis);
+            log.debug("member bulk {}: chunk {}/{}, id=[{}, {}), rows={}, elapsed={}ms, total rows={}",
+                    operation, chunks, totalChunks, from, from + chunkSize, count, chunkMillis, affected);
+        }
+
+        BulkUpdateResult result = new BulkUpdateResult(chunks, affected, System.currentTimeMillis() - start, maxChunkMillis);
+        log.info("member bulk {}: chunks={}, rows={}, elapsed={}ms, max chunk={}ms, rows/sec={}",
+                operation, result.getChunks(), result.getAffectedRows(), result.getElapsedMillis(),
+                result.getMaxChunkMillis(), String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private void pause() {
+        if (throttle.isZero() || throttle.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(throttle.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("벌크 작업이 중단되었습니다.", e);
+        }
+    }
+}
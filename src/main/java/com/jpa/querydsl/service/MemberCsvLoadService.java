@@ -0,0 +1,92 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.SeedResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.nio.file.Path;
+
+/**
+ * H2 CSVREAD를 사용한 회원/팀 CSV 초기 적재
+ *
+ * CSV를 임시(staging) 테이블로 읽은 뒤 INSERT ... SELECT 로 member, team에 한 번에 옮긴다.
+ * 엔티티와 영속성 컨텍스트를 거치지 않으므로 JPA로 한 건씩 저장하는 것보다 훨씬 빠르다.
+ *
+ * - 팀 CSV: 헤더 name
+ * - 회원 CSV: 헤더 username,age,teamName (teamName은 비어있으면 팀 없음)
+ * - 회원 CSV에만 있는 팀 이름도 팀으로 추가한다.
+ * - id는 member_seq, team_seq 를 사용한다. (pooled-lo 블록과 겹치지 않는다)
+ * - CSVREAD는 DB 서버에서 파일을 읽으므로 파일 경로는 DB 서버 기준이다.
+ *
+ * 2차 캐시와 검색 캐시는 MemberWriteStatementInspector 가 insert 문을 보고 무효화한다.
+ */
+@Slf4j
+@Service
+public class MemberCsvLoadService {
+
+    private final EntityManager em;
+
+    public MemberCsvLoadService(EntityManager em) {
+        this.em = em;
+    }
+
+    /**
+     * @param teamCsv   없으면 null
+     * @param memberCsv 없으면 null
+     */
+    @Transactional
+    public SeedResult load(Path teamCsv, Path memberCsv) {
+        long start = System.currentTimeMillis();
+
+        // TRANSACTIONAL: H2는 DDL 실행시 커밋하므로 현재 트랜잭션을 유지하도록 지정
+        em.createNativeQuery("CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS team_staging"
+                + " (name VARCHAR(255)) TRANSACTIONAL").executeUpdate();
+        em.createNativeQuery("CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS member_staging"
+                + " (username VARCHAR(255), age INT, team_name VARCHAR(255)) TRANSACTIONAL").executeUpdate();
+        em.createNativeQuery("DELETE FROM team_staging").executeUpdate();
+        em.createNativeQuery("DELETE FROM member_staging").executeUpdate();
+
+        if (teamCsv != null) {
+            em.createNativeQuery("INSERT INTO team_staging (name)"
+                    + " SELECT NULLIF(TRIM(name), '') FROM " + csvRead(teamCsv)).executeUpdate();
+        }
+        if (memberCsv != null) {
+            em.createNativeQuery("INSERT INTO member_staging (username, age, team_name)"
+                    + " SELECT username, CAST(age AS INT), NULLIF(TRIM(teamName), '')"
+                    + " FROM " + csvRead(memberCsv)).executeUpdate();
+        }
+
+        int teams = em.createNativeQuery("INSERT INTO team (team_id, name)"
+                + " SELECT NEXT VALUE FOR team_seq, n.name FROM ("
+                + "   SELECT name FROM team_staging UNION SELECT team_name FROM member_staging"
+                + " ) n"
+                + " WHERE n.name IS NOT NULL"
+                + " AND NOT EXISTS (SELECT 1 FROM team t WHERE t.name = n.name)").executeUpdate();
+
+        // 같은 이름의 팀이 여러 개면 id가 가장 작은 팀으로 지정
+        int members = em.createNativeQuery("INSERT INTO member (member_id, username, age, team_id)"
+                + " SELECT NEXT VALUE FOR member_seq, s.username, s.age, t.team_id"
+                + " FROM member_staging s"
+                + " LEFT JOIN (SELECT name, MIN(team_id) team_id FROM team GROUP BY name) t"
+                + " ON t.name = s.team_name").executeUpdate();
+
+        em.createNativeQuery("DELETE FROM team_staging").executeUpdate();
+        em.createNativeQuery("DELETE FROM member_staging").executeUpdate();
+
+        SeedResult result = new SeedResult(teams, members, System.currentTimeMillis() - start);
+        log.info("member csv load: teams={}, members={}, elapsed={}ms, rows/sec={}",
+                result.getTeams(), result.getMembers(), result.getElapsedMillis(),
+                String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * CSVREAD는 준비(prepare) 시점에 헤더를 읽어서 컬럼을 정하므로 파일명을 파라미터로 넘길 수 없다.
+     */
+    private String csvRead(Path file) {
+        String fileName = file.toAbsolutePath().toString().replace("'", "''");
+        return "CSVREAD('" + fileName + "', NULL, 'charset=UTF-8')";
+    }
+}
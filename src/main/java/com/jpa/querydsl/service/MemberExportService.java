@@ -0,0 +1,146 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.ExportResult;
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.dto.MemberTeamDto;
+import com.jpa.querydsl.respository.MemberJpaRepository;
+import com.jpa.querydsl.respository.StatelessSessionTemplate;
+import com.mysema.commons.lang.CloseableIterator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 회원/팀 검색 결과 CSV 내보내기
+ * offset 페이징 대신 FORWARD_ONLY 커서 한 번으로 전체를 읽으므로 메모리 사용량이 일정하다.
+ * exportCsvStateless 는 StatelessSession 으로 읽는다. (영속성 컨텍스트 정리가 필요 없고, 트랜잭션 밖에서만 호출)
+ */
+@Slf4j
+@Service
+public class MemberExportService {
+
+    private static final String HEADER = "memberId,username,age,teamId,teamName";
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final StatelessSessionTemplate statelessSessionTemplate;
+    private final EntityManager em;
+    private final int fetchSize;
+    private final int clearInterval;
+
+    public MemberExportService(MemberJpaRepository memberJpaRepository,
+                               StatelessSessionTemplate statelessSessionTemplate,
+                               EntityManager em,
+                               @Value("${member.search.stream.fetch-size:500}") int fetchSize,
+                               @Value("${member.search.stream.clear-interval:1000}") int clearInterval) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.statelessSessionTemplate = statelessSessionTemplate;
+        this.em = em;
+        this.fetchSize = fetchSize;
+        this.clearInterval = clearInterval;
+    }
+
+    @Transactional(readOnly = true)
+    public ExportResult exportCsv(MemberSearchCondition condition, Path file, boolean gzip) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            return writeCsv(memberJpaRepository.searchIterate(condition, fetchSize), out, gzip, em::clear);
+        }
+    }
+
+    /**
+     * out은 닫지 않는다. (HTTP 응답 스트림 등 호출한 쪽에서 관리)
+     */
+    @Transactional(readOnly = true)
+    public ExportResult exportCsv(MemberSearchCondition condition, OutputStream out, boolean gzip) throws IOException {
+        return writeCsv(memberJpaRepository.searchIterate(condition, fetchSize), out, gzip, em::clear);
+    }
+
+    /**
+     * out은 닫지 않는다.
+     */
+    public ExportResult exportCsvStateless(MemberSearchCondition condition, OutputStream out, boolean gzip) throws IOException {
+        try {
+            return statelessSessionTemplate.execute(queryFactory -> {
+                try {
+                    return writeCsv(memberJpaRepository.searchIterate(queryFactory, condition, fetchSize),
+                            out, gzip, () -> { });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * clearInterval 건마다 onClearInterval 실행 (영속성 컨텍스트 정리)
+     */
+    private ExportResult writeCsv(CloseableIterator<MemberTeamDto> rowIterator, OutputStream out, boolean gzip,
+                                  Runnable onClearInterval) throws IOException {
+        long start = System.currentTimeMillis();
+        long rows = 0;
+
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, 64 * 1024) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzip ? gzipOut : out, StandardCharsets.UTF_8), 64 * 1024);
+
+        try (CloseableIterator<MemberTeamDto> it = rowIterator) {
+            writer.write(HEADER);
+            writer.write('\n');
+
+            while (it.hasNext()) {
+                writeRow(writer, it.next());
+                if (++rows % clearInterval == 0) {
+                    onClearInterval.run();
+                }
+            }
+        }
+
+        writer.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+
+        ExportResult result = new ExportResult(rows, System.currentTimeMillis() - start);
+        log.info("member csv export: rows={}, elapsed={}ms, rows/sec={}",
+                result.getRows(), result.getElapsedMillis(), String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private void writeRow(Writer writer, MemberTeamDto dto) throws IOException {
+        writer.write(String.valueOf(dto.getMemberId()));
+        writer.write(',');
+        writer.write(escape(dto.getUsername()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getAge()));
+        writer.write(',');
+        writer.write(dto.getTeamId() != null ? String.valueOf(dto.getTeamId()) : "");
+        writer.write(',');
+        writer.write(escape(dto.getTeamName()));
+        writer.write('\n');
+    }
+
+    private String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
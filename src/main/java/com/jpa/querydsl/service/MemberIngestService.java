@@ -0,0 +1,206 @@
+package com.jpa.querydsl.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jpa.querydsl.cache.TeamDictionary;
+import com.jpa.querydsl.dto.BulkChunkReport;
+import com.jpa.querydsl.dto.BulkChunkReport.RowError;
+import com.jpa.querydsl.dto.BulkIngestResult;
+import com.jpa.querydsl.dto.MemberBulkDto;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * 회원 대량 입력
+ *
+ * 요청 본문(JSON 배열)을 한 번에 읽지 않고 스트리밍으로 파싱하면서 chunk-size 만큼씩 저장한다.
+ * 청크마다 트랜잭션을 따로 쓰므로 잘못된 데이터가 있어도 해당 청크만 롤백된다.
+ * 검증에 실패한 행(타입이 맞지 않는 값, 이름 없음, 나이 음수, 없는 팀)은 건너뛰고 청크 결과에 남긴다.
+ * JSON 문법이 깨진 경우에만 그 앞까지 저장하고 중단한다.
+ */
+@Slf4j
+@Service
+public class MemberIngestService {
+
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+    private final TeamDictionary teamDictionary;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final int flushInterval;
+
+    public MemberIngestService(EntityManager em,
+                               ObjectMapper objectMapper,
+                               TeamDictionary teamDictionary,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${member.bulk.chunk-size:1000}") int chunkSize,
+                               @Value("${member.bulk.flush-interval:100}") int flushInterval) {
+        if (chunkSize < 1 || flushInterval < 1) {
+            throw new IllegalArgumentException("chunk-size, flush-interval은 1 이상이어야 합니다.");
+        }
+        this.em = em;
+        this.objectMapper = objectMapper;
+        this.teamDictionary = teamDictionary;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * in은 닫지 않는다. (HTTP 요청 스트림 등 호출한 쪽에서 관리)
+     *
+     * @throws InvalidBulkRequestException 본문이 JSON 배열이 아닐 때
+     */
+    public BulkIngestResult ingest(InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        List<BulkChunkReport> chunks = new ArrayList<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long nextRow = 0;
+        String error = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidBulkRequestException("요청 본문은 JSON 배열이어야 합니다.");
+            }
+
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                    chunk.add(read(parser.readValueAsTree()));
+                    if (chunk.size() == chunkSize) {
+                        chunks.add(writeChunk(chunks.size(), nextRow, chunk));
+                        nextRow += chunk.size();
+                        chunk.clear();
+                    }
+                }
+                if (token != JsonToken.END_ARRAY) {
+                    error = (nextRow + chunk.size()) + "번째 행이 JSON 객체가 아닙니다: " + token;
+                }
+            } catch (JsonProcessingException e) {
+                // 문법 오류: 이미 저장한 청크는 그대로 두고 읽은 곳까지만 저장
+                error = (nextRow + chunk.size()) + "번째 행을 읽을 수 없습니다: " + e.getOriginalMessage();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            chunks.add(writeChunk(chunks.size(), nextRow, chunk));
+        }
+
+        BulkIngestResult result = new BulkIngestResult(System.currentTimeMillis() - start, error, chunks);
+        log.info("member bulk ingest: rows={}, inserted={}, chunks={}, elapsed={}ms, rows/sec={}",
+                result.getRows(), result.getInserted(), chunks.size(), result.getElapsedMillis(),
+                String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * 값의 타입이 맞지 않는 행은 중단하지 않고 그 행만 오류로 남긴다.
+     */
+    private Row read(JsonNode node) {
+        try {
+            return new Row(objectMapper.treeToValue(node, MemberBulkDto.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(null, "행을 변환할 수 없습니다: " + e.getOriginalMessage());
+        }
+    }
+
+    private BulkChunkReport writeChunk(int index, long firstRow, List<Row> rows) {
+        long start = System.currentTimeMillis();
+        List<RowError> rowErrors = new ArrayList<>();
+        int inserted = 0;
+        String error = null;
+
+        try {
+            inserted = tx.execute(status -> insert(firstRow, rows, rowErrors));
+        } catch (RuntimeException e) {
+            log.warn("member bulk ingest chunk {} rolled back", index, e);
+            error = e.getMessage();
+        }
+
+        return new BulkChunkReport(index, firstRow, rows.size(), inserted,
+                System.currentTimeMillis() - start, error, rowErrors);
+    }
+
+    private int insert(long firstRow, List<Row> rows, List<RowError> rowErrors) {
+        // 입력한 엔티티를 2차 캐시에 넣지 않는다.
+        em.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        int inserted = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            String invalid = validate(rows.get(i));
+            if (invalid != null) {
+                rowErrors.add(new RowError(firstRow + i, invalid));
+                continue;
+            }
+
+            MemberBulkDto row = rows.get(i).value;
+            Member member = new Member(row.getUsername(), row.getAge());
+            if (hasText(row.getTeamName())) {
+                // team.members 컬렉션을 읽지 않는다.
+                member.assignTeam(em.getReference(Team.class, teamDictionary.idsOf(row.getTeamName()).get(0)));
+            }
+            em.persist(member);
+
+            if (++inserted % flushInterval == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return inserted;
+    }
+
+    private String validate(Row parsed) {
+        if (parsed.error != null) {
+            return parsed.error;
+        }
+
+        MemberBulkDto row = parsed.value;
+        if (!hasText(row.getUsername())) {
+            return "username이 없습니다.";
+        }
+        if (row.getAge() < 0) {
+            return "age는 0 이상이어야 합니다: " + row.getAge();
+        }
+        if (hasText(row.getTeamName())) {
+            int teams = teamDictionary.idsOf(row.getTeamName()).size();
+            if (teams == 0) {
+                return "팀이 없습니다: " + row.getTeamName();
+            }
+            if (teams > 1) {
+                return "같은 이름의 팀이 여러 개입니다: " + row.getTeamName();
+            }
+        }
+        return null;
+    }
+
+    private static class Row {
+        private final MemberBulkDto value;
+        private final String error;
+
+        private Row(MemberBulkDto value, String error) {
+            this.value = value;
+            this.error = error;
+        }
+    }
+}
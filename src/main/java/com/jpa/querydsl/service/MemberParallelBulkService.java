@@ -0,0 +1,208 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.BulkPartitionReport;
+import com.jpa.querydsl.dto.ParallelBulkResult;
+import com.jpa.querydsl.entity.Team;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.jpa.querydsl.entity.QMember.member;
+
+/**
+ * 파티션 단위로 병렬 실행하는 벌크 수정/삭제
+ *
+ * 대상을 team_id(또는 member_id 범위)로 나누고, 파티션마다 별도 트랜잭션(커넥션)에서 동시에 실행한다.
+ * 파티션끼리는 서로 다른 행을 수정하므로 락 경합이 없다.
+ * 스레드 풀은 빈으로 등록하지 않고 서비스가 직접 관리한다. (MemberSearchService 참고)
+ * pool-size는 커넥션 풀 크기보다 작게 잡아야 다른 요청이 커넥션을 얻을 수 있다.
+ * 큐가 가득 차면 호출한 스레드에서 파티션을 실행한다. (CallerRunsPolicy, 파티션을 버리지 않는다)
+ *
+ * member.team 을 바꾸는 수정은 update 가 아니라 reassignTeam 으로 실행한다.
+ * TEAM 파티션에서 팀을 바꾸면 다른 파티션으로 옮겨간 행이 한 번 더 수정될 수 있으므로 항상 ID_RANGE 로 나눈다.
+ */
+@Slf4j
+@Service
+public class MemberParallelBulkService {
+
+    public enum Partitioning {
+        /** team_id 별 (팀 없는 회원은 한 파티션) */
+        TEAM,
+        /** member_id 범위를 id-range-partitions 개로 균등 분할 */
+        ID_RANGE
+    }
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate tx;
+    private final ThreadPoolTaskExecutor executor;
+    private final int idRangePartitions;
+
+    public MemberParallelBulkService(EntityManager em,
+                                     JPAQueryFactory queryFactory,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${member.bulk-parallel.pool-size:4}") int poolSize,
+                                     @Value("${member.bulk-parallel.queue-capacity:100}") int queueCapacity,
+                                     @Value("${member.bulk-parallel.id-range-partitions:4}") int idRangePartitions) {
+        if (idRangePartitions < 1) {
+            throw new IllegalArgumentException("id-range-partitions는 1 이상이어야 합니다: " + idRangePartitions);
+        }
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.idRangePartitions = idRangePartitions;
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.setThreadNamePrefix("member-bulk-");
+        this.executor.initialize();
+    }
+
+    /**
+     * @param where 대상 조건 (null이면 전체)
+     * @param set   수정할 값 지정 ex) update -> update.set(member.age, member.age.add(1))
+     *              member.team 은 여기서 바꾸지 않는다. (reassignTeam 사용)
+     */
+    public ParallelBulkResult update(Partitioning partitioning, Predicate where, Consumer<JPAUpdateClause> set) {
+        return execute("update", partitioning, where, partition -> {
+            JPAUpdateClause update = queryFactory.update(member).where(where, partition);
+            set.accept(update);
+            return update.execute();
+        });
+    }
+
+    /**
+     * 대상 회원의 팀을 바꾼다. 파티션은 항상 ID_RANGE 로 나눈다.
+     *
+     * @param where  대상 조건 (null이면 전체)
+     * @param teamId 옮길 팀 (null이면 팀 없음)
+     */
+    public ParallelBulkResult reassignTeam(Predicate where, Long teamId) {
+        return execute("reassign team", Partitioning.ID_RANGE, where, partition -> {
+            JPAUpdateClause update = queryFactory.update(member).where(where, partition);
+            if (teamId == null) {
+                update.setNull(member.team);
+            } else {
+                update.set(member.team, em.getReference(Team.class, teamId));
+            }
+            return update.execute();
+        });
+    }
+
+    /**
+     * @param where 대상 조건 (null이면 전체)
+     */
+    public ParallelBulkResult delete(Partitioning partitioning, Predicate where) {
+        return execute("delete", partitioning, where,
+                partition -> queryFactory.delete(member).where(where, partition).execute());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private ParallelBulkResult execute(String operation, Partitioning partitioning, Predicate where,
+                                       Function<BooleanExpression, Long> statement) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("파티션마다 커밋해야 하므로 트랜잭션 밖에서 호출해야 합니다.");
+        }
+        long start = System.currentTimeMillis();
+
+        Map<String, BooleanExpression> partitions = tx.execute(status ->
+                partitioning == Partitioning.TEAM ? teamPartitions(where) : idRangePartitions(where));
+
+        List<CompletableFuture<BulkPartitionReport>> futures = new ArrayList<>(partitions.size());
+        partitions.forEach((name, partition) -> futures.add(
+                CompletableFuture.supplyAsync(() -> executePartition(name, partition, statement), executor)));
+
+        List<BulkPartitionReport> reports = new ArrayList<>(futures.size());
+        for (CompletableFuture<BulkPartitionReport> future : futures) {
+            reports.add(future.join());
+        }
+
+        ParallelBulkResult result = new ParallelBulkResult(System.currentTimeMillis() - start, reports);
+        log.info("member parallel bulk {}: partitions={}, rows={}, elapsed={}ms, max partition={}ms, rows/sec={}",
+                operation, reports.size(), result.getAffectedRows(), result.getElapsedMillis(),
+                result.getMaxPartitionMillis(), String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private BulkPartitionReport executePartition(String name, BooleanExpression partition,
+                                                 Function<BooleanExpression, Long> statement) {
+        long start = System.currentTimeMillis();
+        try {
+            long affected = tx.execute(status -> statement.apply(partition));
+            long elapsed = System.currentTimeMillis() - start;
+            log.debug("member parallel bulk partition {}: rows={}, elapsed={}ms", name, affected, elapsed);
+            return new BulkPartitionReport(name, affected, elapsed, null);
+        } catch (RuntimeException e) {
+            log.warn("member parallel bulk partition {} rolled back", name, e);
+            return new BulkPartitionReport(name, 0, System.currentTimeMillis() - start, e.getMessage());
+        }
+    }
+
+    private Map<String, BooleanExpression> teamPartitions(Predicate where) {
+        List<Long> teamIds = queryFactory
+                .select(member.team.id)
+                .distinct()
+                .from(member)
+                .where(where)
+                .fetch();
+
+        Map<String, BooleanExpression> partitions = new LinkedHashMap<>();
+        for (Long teamId : teamIds) {
+            if (teamId == null) {
+                partitions.put("team_id is null", member.team.id.isNull());
+            } else {
+                partitions.put("team_id=" + teamId, member.team.id.eq(teamId));
+            }
+        }
+        return partitions;
+    }
+
+    private Map<String, BooleanExpression> idRangePartitions(Predicate where) {
+        Tuple idRange = queryFactory
+                .select(member.id.min(), member.id.max())
+                .from(member)
+                .where(where)
+                .fetchOne();
+        Long minId = idRange != null ? idRange.get(member.id.min()) : null;
+        Long maxId = idRange != null ? idRange.get(member.id.max()) : null;
+
+        Map<String, BooleanExpression> partitions = new LinkedHashMap<>();
+        if (minId == null || maxId == null) {
+            return partitions;
+        }
+
+        long width = (maxId - minId) / idRangePartitions + 1;
+        for (long from = minId; from <= maxId; from += width) {
+            partitions.put("member_id=[" + from + ", " + (from + width) + ")",
+                    member.id.goe(from).and(member.id.lt(from + width)));
+        }
+        return partitions;
+    }
+}
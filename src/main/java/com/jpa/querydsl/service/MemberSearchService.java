@@ -0,0 +1,89 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.dto.MemberTeamDto;
+import com.jpa.querydsl.respository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 내용 조회와 카운트 조회를 각각 별도 트랜잭션(커넥션)에서 동시에 실행한다.
+ *
+ * 스레드 풀은 빈으로 등록하지 않는다. (Executor 빈이 생기면 스프링 부트 기본 applicationTaskExecutor가 빠진다)
+ * 큐까지 가득 차면 작업이 거절되고, fallback-to-serial 설정에 따라 요청 스레드에서 직렬로 실행한다.
+ */
+@Slf4j
+@Service
+public class MemberSearchService {
+
+    private final MemberRepository memberRepository;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean fallbackToSerial;
+
+    public MemberSearchService(MemberRepository memberRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${member.search.async.pool-size:8}") int poolSize,
+                               @Value("${member.search.async.queue-capacity:100}") int queueCapacity,
+                               @Value("${member.search.async.fallback-to-serial:true}") boolean fallbackToSerial) {
+        this.memberRepository = memberRepository;
+        this.fallbackToSerial = fallbackToSerial;
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("member-search-");
+        this.executor.initialize();
+
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public CompletableFuture<Page<MemberTeamDto>> searchPageAsync(MemberSearchCondition condition, Pageable pageable) {
+        CompletableFuture<List<MemberTeamDto>> content =
+                submit(() -> memberRepository.searchContent(condition, pageable));
+        CompletableFuture<Long> total =
+                submit(() -> memberRepository.searchCount(condition));
+
+        return content.thenCombine(total, (c, t) -> new PageImpl<>(c, pageable, t));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        Supplier<T> inTransaction = () -> readOnlyTx.execute(status -> query.get());
+        try {
+            return CompletableFuture.supplyAsync(inTransaction, executor);
+        } catch (RejectedExecutionException e) {
+            if (!fallbackToSerial) {
+                throw e;
+            }
+            // 풀이 포화 상태면 호출 스레드에서 직렬로 실행
+            log.debug("member search executor saturated, running serially");
+            try {
+                return CompletableFuture.completedFuture(inTransaction.get());
+            } catch (RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+    }
+}
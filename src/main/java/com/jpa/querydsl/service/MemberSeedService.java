@@ -0,0 +1,175 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.SeedResult;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.respository.StatelessQueryFactory;
+import com.jpa.querydsl.respository.StatelessSessionTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.jpa.querydsl.entity.QTeam.team;
+
+/**
+ * 부하 테스트용 회원/팀 대량 입력
+ *
+ * - id는 PooledSequenceGenerator로 미리 할당받으므로 행마다 시퀀스를 조회하지 않는다.
+ * - flush-interval 마다 flush/clear 해서 JDBC 배치(hibernate.jdbc.batch_size)로 보내고 영속성 컨텍스트를 비운다.
+ * - commit-interval 마다 커밋해서 트랜잭션이 너무 커지지 않게 한다.
+ *
+ * seedStateless 는 StatelessSession 으로 바로 insert 한다. (영속성 컨텍스트, flush/clear 없음)
+ */
+@Slf4j
+@Service
+public class MemberSeedService {
+
+    private final EntityManager em;
+    private final StatelessSessionTemplate statelessSessionTemplate;
+    private final TransactionTemplate tx;
+    private final int flushInterval;
+    private final int commitInterval;
+
+    public MemberSeedService(EntityManager em,
+                             StatelessSessionTemplate statelessSessionTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${member.seed.flush-interval:100}") int flushInterval,
+                             @Value("${member.seed.commit-interval:10000}") int commitInterval) {
+        if (flushInterval < 1 || commitInterval < 1) {
+            throw new IllegalArgumentException("flush-interval, commit-interval은 1 이상이어야 합니다.");
+        }
+        this.em = em;
+        this.statelessSessionTemplate = statelessSessionTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.flushInterval = flushInterval;
+        this.commitInterval = commitInterval;
+    }
+
+    public SeedResult seed(long memberCount, int teamCount) {
+        if (memberCount < 0 || teamCount < 1) {
+            throw new IllegalArgumentException("memberCount는 0 이상, teamCount는 1 이상이어야 합니다.");
+        }
+        long start = System.currentTimeMillis();
+
+        List<Long> teamIds = tx.execute(status -> insertTeams(teamCount));
+
+        for (long from = 0; from < memberCount; from += commitInterval) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(memberCount, from + commitInterval);
+            tx.executeWithoutResult(status -> insertMembers(chunkFrom, chunkTo, teamIds));
+            log.debug("member seed: {}/{}", chunkTo, memberCount);
+        }
+
+        SeedResult result = new SeedResult(teamCount, memberCount, System.currentTimeMillis() - start);
+        log.info("member seed: teams={}, members={}, elapsed={}ms, rows/sec={}",
+                result.getTeams(), result.getMembers(), result.getElapsedMillis(),
+                String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    public SeedResult seedStateless(long memberCount, int teamCount) {
+        if (memberCount < 0 || teamCount < 1) {
+            throw new IllegalArgumentException("memberCount는 0 이상, teamCount는 1 이상이어야 합니다.");
+        }
+        long start = System.currentTimeMillis();
+
+        List<Long> teamIds = statelessSessionTemplate.execute(queryFactory -> {
+            List<Long> ids = new ArrayList<>(teamCount);
+            for (int i = 0; i < teamCount; i++) {
+                ids.add((Long) queryFactory.insert(new Team("team" + i)));
+            }
+            return ids;
+        });
+
+        for (long from = 0; from < memberCount; from += commitInterval) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(memberCount, from + commitInterval);
+            statelessSessionTemplate.execute(queryFactory -> {
+                insertMembers(queryFactory, chunkFrom, chunkTo, teamIds);
+                return null;
+            });
+            log.debug("member seed (stateless): {}/{}", chunkTo, memberCount);
+        }
+
+        SeedResult result = new SeedResult(teamCount, memberCount, System.currentTimeMillis() - start);
+        log.info("member seed (stateless): teams={}, members={}, elapsed={}ms, rows/sec={}",
+                result.getTeams(), result.getMembers(), result.getElapsedMillis(),
+                String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private void insertMembers(StatelessQueryFactory queryFactory, long from, long to, List<Long> teamIds) {
+        // StatelessSession 으로 읽은 팀은 members 가 초기화되지 않으므로 assignTeam()이 컬렉션을 건드리지 않는다.
+        Map<Long, Team> teamsById = queryFactory
+                .selectFrom(team)
+                .where(team.id.in(teamIds))
+                .fetch().stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+
+        for (long i = from; i < to; i++) {
+            Member member = new Member("member" + i, (int) (i % 100));
+            member.assignTeam(teamsById.get(teamIds.get((int) (i % teamIds.size()))));
+            queryFactory.insert(member);
+        }
+    }
+
+    private List<Long> insertTeams(int teamCount) {
+        ignoreSecondLevelCache();
+
+        List<Long> teamIds = new ArrayList<>(teamCount);
+        for (int i = 0; i < teamCount; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            teamIds.add(team.getId());
+            if ((i + 1) % flushInterval == 0) {
+                flushAndClear();
+            }
+        }
+        flushAndClear();
+        return teamIds;
+    }
+
+    private void insertMembers(long from, long to, List<Long> teamIds) {
+        ignoreSecondLevelCache();
+
+        // 프록시만 사용하므로 팀을 조회하지 않는다.
+        List<Team> teams = new ArrayList<>(teamIds.size());
+        for (Long teamId : teamIds) {
+            teams.add(em.getReference(Team.class, teamId));
+        }
+
+        for (long i = from; i < to; i++) {
+            Member member = new Member("member" + i, (int) (i % 100));
+            // changeTeam()은 team.members 컬렉션에 회원을 쌓으므로 assignTeam() 사용
+            member.assignTeam(teams.get((int) (i % teams.size())));
+            em.persist(member);
+            if ((i - from + 1) % flushInterval == 0) {
+                flushAndClear();
+            }
+        }
+        flushAndClear();
+    }
+
+    /**
+     * 입력한 엔티티를 2차 캐시에 넣지 않는다.
+     */
+    private void ignoreSecondLevelCache() {
+        em.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+    }
+
+    private void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
+}
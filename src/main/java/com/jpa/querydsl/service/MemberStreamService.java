@@ -0,0 +1,74 @@
+package com.jpa.querydsl.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.dto.MemberTeamDto;
+import com.jpa.querydsl.respository.MemberJpaRepository;
+import com.mysema.commons.lang.CloseableIterator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 검색 결과를 NDJSON(한 줄에 JSON 하나)으로 스트리밍
+ * 결과 건수와 상관없이 메모리 사용량이 일정하다.
+ *
+ * 행마다 flush 하지 않고 clear-interval 마다 flush 한다. (FLUSH_AFTER_WRITE_VALUE 끔)
+ * 루트 값 구분자(기본 " ")는 쓰지 않고 모든 행 끝에 '\n'을 붙인다.
+ */
+@Service
+public class MemberStreamService {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final EntityManager em;
+    private final ObjectWriter writer;
+    private final int fetchSize;
+    private final int clearInterval;
+
+    public MemberStreamService(MemberJpaRepository memberJpaRepository,
+                               EntityManager em,
+                               ObjectMapper objectMapper,
+                               @Value("${member.search.stream.fetch-size:500}") int fetchSize,
+                               @Value("${member.search.stream.clear-interval:1000}") int clearInterval) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.em = em;
+        this.writer = objectMapper.writerFor(MemberTeamDto.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+        this.clearInterval = clearInterval;
+    }
+
+    /**
+     * @return 출력한 건수
+     */
+    @Transactional(readOnly = true)
+    public long writeNdjson(MemberSearchCondition condition, OutputStream out) throws IOException {
+        long count = 0;
+        try (CloseableIterator<MemberTeamDto> rows = memberJpaRepository.searchIterate(condition, fetchSize);
+             JsonGenerator generator = writer.createGenerator(out)) {
+            // 응답 스트림은 서블릿 컨테이너가 닫는다.
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+
+                if (++count % clearInterval == 0) {
+                    generator.flush();
+                    // 영속성 컨텍스트에 쌓인 것이 있다면 비워서 메모리를 일정하게 유지
+                    em.clear();
+                }
+            }
+            generator.flush();
+        }
+        return count;
+    }
+}
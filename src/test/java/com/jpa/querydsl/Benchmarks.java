@@ -0,0 +1,22 @@
+package com.jpa.querydsl;
+
+/**
+ * 벤치마크 테스트 공통
+ * 벤치마크는 @Tag(Benchmarks.TAG)를 붙여서 기본 test 태스크에서 제외한다. (./gradlew benchmark 로 실행)
+ */
+public final class Benchmarks {
+
+    public static final String TAG = "benchmark";
+
+    private Benchmarks() {
+    }
+
+    /**
+     * 측정 전에 GC를 요청해서 이전 작업의 garbage 영향을 줄인다. (대략적인 값)
+     */
+    public static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,91 @@
+package com.jpa.querydsl.cache;
+
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.respository.MemberRepository;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static com.jpa.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RecordApplicationEvents
+class MemberChangeTrackerTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    ApplicationEvents events;
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'trackerMember%'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'trackerTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    void publishOncePerTransaction() {
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("trackerTeam");
+            em.persist(team);
+            for (int i = 0; i < 10; i++) {
+                em.persist(new Member("trackerMember" + i, i, team));
+            }
+            em.flush();
+            queryFactory
+                    .update(member)
+                    .set(member.age, member.age.add(1))
+                    .where(member.username.startsWith("trackerMember"))
+                    .execute();
+
+            // 트랜잭션 안에서는 기록만 한다.
+            assertThat(events.stream(MemberChangedEvent.class)).isEmpty();
+        });
+
+        assertThat(events.stream(MemberChangedEvent.class))
+                .extracting("entityType")
+                .containsExactlyInAnyOrder(Team.class, Member.class);
+    }
+
+    @Test
+    void commitInvalidatesSearchCache() {
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("trackerTeam");
+            em.persist(team);
+            em.persist(new Member("trackerMember1", 10, team));
+        });
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("trackerTeam");
+        assertThat(memberRepository.search(condition)).extracting("age").containsExactly(10);
+
+        tx.executeWithoutResult(status -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .where(member.username.startsWith("trackerMember"))
+                .execute());
+
+        assertThat(memberRepository.search(condition)).extracting("age").containsExactly(11);
+    }
+}
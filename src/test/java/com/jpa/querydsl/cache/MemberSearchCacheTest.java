@@ -0,0 +1,111 @@
+package com.jpa.querydsl.cache;
+
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.dto.MemberTeamDto;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.respository.MemberRepository;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static com.jpa.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberSearchCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberSearchCache memberSearchCache;
+
+    MemberSearchCondition condition;
+
+    @BeforeEach
+    void before() {
+        Team cacheTeam = new Team("cacheTeam");
+        em.persist(cacheTeam);
+        em.persist(new Member("cacheMember1", 10, cacheTeam));
+        em.persist(new Member("cacheMember2", 20, cacheTeam));
+        em.flush();
+        em.clear();
+
+        condition = new MemberSearchCondition();
+        condition.setTeamName("cacheTeam");
+    }
+
+    /**
+     * 공유 캐시는 읽기 전용 트랜잭션에서만 사용된다.
+     * (테스트 데이터는 같은 트랜잭션에서 flush 되고 커밋되지 않는다.)
+     */
+    @Test
+    @Transactional(readOnly = true)
+    void hit() {
+        long hits = memberSearchCache.stats().getHits();
+
+        List<MemberTeamDto> first = memberRepository.search(condition);
+        List<MemberTeamDto> second = memberRepository.search(condition);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(memberSearchCache.stats().getHits()).isEqualTo(hits + 1);
+    }
+
+    /**
+     * 꺼낸 결과를 바꿔도 캐시된 결과는 그대로다.
+     */
+    @Test
+    @Transactional(readOnly = true)
+    void hitReturnsCopy() {
+        List<MemberTeamDto> first = memberRepository.search(condition);
+        first.get(0).setTeamName("changed");
+        first.clear();
+
+        List<MemberTeamDto> second = memberRepository.search(condition);
+
+        assertThat(second).hasSize(2);
+        assertThat(second).extracting("teamName").containsOnly("cacheTeam");
+    }
+
+    @Test
+    void readWriteTransactionBypasses() {
+        long hits = memberSearchCache.stats().getHits();
+        long misses = memberSearchCache.stats().getMisses();
+
+        List<MemberTeamDto> first = memberRepository.search(condition);
+        List<MemberTeamDto> second = memberRepository.search(condition);
+
+        // 커밋 전 데이터가 공유 캐시에 남지 않는다.
+        assertThat(second).isNotSameAs(first).isEqualTo(first);
+        assertThat(memberSearchCache.stats().getHits()).isEqualTo(hits);
+        assertThat(memberSearchCache.stats().getMisses()).isEqualTo(misses);
+    }
+
+    @Test
+    void bulkUpdateInvalidates() {
+        assertThat(memberRepository.search(condition)).extracting("age").containsExactly(10, 20);
+
+        // 벌크 연산은 엔티티 리스너를 거치지 않지만 SQL 감지로 무효화된다.
+        queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .where(member.username.startsWith("cacheMember"))
+                .execute();
+
+        assertThat(memberRepository.search(condition)).extracting("age").containsExactly(11, 21);
+    }
+}
@@ -0,0 +1,133 @@
+package com.jpa.querydsl.condition;
+
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.jpa.querydsl.entity.QMember.member;
+import static com.jpa.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.util.StringUtils.hasText;
+
+class ConditionCompilerTest {
+
+    private static final CompiledCondition<MemberSearchCondition> SEARCH_CONDITION =
+            ConditionCompiler.compile(MemberSearchCondition.class, member, team);
+
+    @Test
+    void predicates() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        condition.setTeamName("teamA");
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(40);
+
+        assertThat(allOf(SEARCH_CONDITION.predicates(condition))).isEqualTo(allOf(handWritten(condition)));
+    }
+
+    /**
+     * 값이 없거나 빈 문자열이면 조건을 만들지 않는다.
+     */
+    @Test
+    void emptyValuesAreSkipped() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername(" ");
+        condition.setAgeLoe(40);
+
+        assertThat(Arrays.stream(SEARCH_CONDITION.predicates(condition)).filter(p -> p != null))
+                .containsExactly(member.age.loe(40));
+    }
+
+    @Test
+    void without() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        assertThat(SEARCH_CONDITION.without("teamName").predicates(condition)).containsOnlyNulls();
+        assertThatThrownBy(() -> SEARCH_CONDITION.without("unknown"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void invalidPath() {
+        assertThatThrownBy(() -> ConditionCompiler.compile(UnknownPathCondition.class, member))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ConditionCompiler.compile(UnknownRootCondition.class, member))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * 필드 타입이 path 타입과 다르면 요청 시점이 아니라 컴파일 시점에 실패한다.
+     */
+    @Test
+    void typeMismatch() {
+        assertThatThrownBy(() -> ConditionCompiler.compile(TypeMismatchCondition.class, member))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ageGoe");
+        assertThat(ConditionCompiler.compile(PrimitiveCondition.class, member)
+                .predicates(new PrimitiveCondition()))
+                .containsExactly(member.age.goe(0));
+    }
+
+    private Predicate allOf(Predicate[] predicates) {
+        return ExpressionUtils.allOf(predicates);
+    }
+
+    private Predicate[] handWritten(MemberSearchCondition condition) {
+        return new Predicate[]{
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+        };
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return hasText(username) ? member.username.eq(username) : null;
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+
+    @Data
+    static class UnknownPathCondition {
+        // 없는 path
+        @Goe(path = "member.unknown")
+        private Integer age;
+    }
+
+    @Data
+    static class TypeMismatchCondition {
+        // Integer path 에 String 값
+        @Goe(path = "member.age")
+        private String ageGoe;
+    }
+
+    @Data
+    static class PrimitiveCondition {
+        // int 는 Integer 로 비교한다.
+        @Goe(path = "member.age")
+        private int ageGoe;
+    }
+
+    @Data
+    static class UnknownRootCondition {
+        @Eq(path = "team.name")
+        private String teamName;
+    }
+}
@@ -0,0 +1,132 @@
+package com.jpa.querydsl.config;
+
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 팀 12개, 팀마다 회원 1명
+ * default_batch_fetch_size 를 2로 두면 연관관계별 설정이 없을 때 1 + 12 / 2 = 7번 실행된다.
+ *
+ * 설정이 다른 컨텍스트가 공유 DB의 스키마(시퀀스)를 다시 만들면 다른 컨텍스트가 미리 받아둔 id와 겹치므로 update 로 둔다.
+ */
+class FetchOverrideIntegratorTest {
+
+    private static final int TEAMS = 12;
+
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.jpa.hibernate.ddl-auto=update",
+            "spring.jpa.properties.hibernate.default_batch_fetch_size=2",
+            "member.fetch.team-batch-size=5",
+            "member.fetch.members-batch-size=4"})
+    @Transactional
+    class BatchSize {
+
+        @Autowired
+        EntityManager em;
+
+        @BeforeEach
+        void before() {
+            persistTeams(em);
+        }
+
+        /**
+         * 회원 조회 1번 + 팀 5개씩 3번
+         */
+        @Test
+        void memberTeam() {
+            assertThat(countMemberTeamStatements(em)).isEqualTo(1 + 3);
+        }
+
+        /**
+         * 팀 조회 1번 + 팀 4개씩 3번
+         */
+        @Test
+        void teamMembers() {
+            assertThat(countTeamMembersStatements(em)).isEqualTo(1 + 3);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {
+            "spring.jpa.hibernate.ddl-auto=update",
+            "spring.jpa.properties.hibernate.default_batch_fetch_size=2",
+            "member.fetch.members-subselect=true"})
+    @Transactional
+    class Subselect {
+
+        @Autowired
+        EntityManager em;
+
+        @BeforeEach
+        void before() {
+            persistTeams(em);
+        }
+
+        /**
+         * 팀 조회 1번 + 처음 쿼리를 서브쿼리로 사용해서 모든 팀의 회원을 1번
+         */
+        @Test
+        void teamMembers() {
+            assertThat(countTeamMembersStatements(em)).isEqualTo(1 + 1);
+        }
+
+        /**
+         * 설정하지 않은 Member.team 은 default_batch_fetch_size(2)를 따른다.
+         */
+        @Test
+        void memberTeam() {
+            assertThat(countMemberTeamStatements(em)).isEqualTo(1 + TEAMS / 2);
+        }
+    }
+
+    private static void persistTeams(EntityManager em) {
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team("fetchTeam" + i);
+            em.persist(team);
+            em.persist(new Member("fetchMember" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    private static int countMemberTeamStatements(EntityManager em) {
+        Scope scope = SqlStatementCounter.begin("member.team");
+        try {
+            List<Member> members = em.createQuery(
+                            "select m from Member m where m.username like 'fetchMember%' order by m.id", Member.class)
+                    .getResultList();
+            members.forEach(m -> m.getTeam().getName());
+        } finally {
+            SqlStatementCounter.end(scope);
+        }
+        return scope.getStatements();
+    }
+
+    private static int countTeamMembersStatements(EntityManager em) {
+        Scope scope = SqlStatementCounter.begin("team.members");
+        try {
+            List<Team> teams = em.createQuery(
+                            "select t from Team t where t.name like 'fetchTeam%' order by t.id", Team.class)
+                    .getResultList();
+            teams.forEach(t -> assertThat(t.getMembers()).hasSize(1));
+        } finally {
+            SqlStatementCounter.end(scope);
+        }
+        return scope.getStatements();
+    }
+}
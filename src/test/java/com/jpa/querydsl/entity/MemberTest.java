@@ -1,6 +1,8 @@
 package com.jpa.querydsl.entity;
 
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.hibernate.collection.spi.PersistentCollection;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Commit;
@@ -11,6 +13,7 @@ import javax.persistence.PersistenceContext;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -54,4 +57,42 @@ class MemberTest {
 
     }
 
-}
\ No newline at end of file
+    /**
+     * 로딩되지 않은 team.members 에는 changeTeam은 추가 작업을 쌓고, assignTeam은 건드리지 않는다.
+     */
+    @Test
+    void assignTeam() {
+        Team team = new Team("assignTeam");
+        em.persist(team);
+        em.flush();
+        em.clear();
+
+        Team findTeam = em.find(Team.class, team.getId());
+        PersistentCollection members = (PersistentCollection) findTeam.getMembers();
+
+        Member assigned = new Member("assignMember1", 10);
+        assigned.assignTeam(findTeam);
+        em.persist(assigned);
+        assertThat(members.wasInitialized()).isFalse();
+        assertThat(members.hasQueuedOperations()).isFalse();
+
+        Member changed = new Member("assignMember2", 20);
+        changed.changeTeam(findTeam);
+        em.persist(changed);
+        assertThat(members.hasQueuedOperations()).isTrue();
+
+        em.flush();
+        em.clear();
+
+        // 컬렉션은 DB에서 읽으므로 결과는 같다.
+        Team reloaded = em.find(Team.class, team.getId());
+        assertThat(reloaded.getMembers()).extracting("username")
+                .containsExactlyInAnyOrder("assignMember1", "assignMember2");
+
+        // 이미 로딩된 컬렉션에는 추가한다.
+        assertThat(Hibernate.isInitialized(reloaded.getMembers())).isTrue();
+        Member another = new Member("assignMember3", 30);
+        another.assignTeam(reloaded);
+        assertThat(reloaded.getMembers()).contains(another);
+    }
+}
@@ -0,0 +1,73 @@
+package com.jpa.querydsl.entity;
+
+import com.jpa.querydsl.respository.MemberJpaRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 2차 캐시는 커밋된 데이터만 다른 트랜잭션에서 읽을 수 있으므로 트랜잭션을 나눠서 확인한다.
+ */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    Long memberId;
+
+    @BeforeEach
+    void before() {
+        memberId = tx.execute(status -> {
+            Team cacheTeam = new Team("l2Team");
+            em.persist(cacheTeam);
+            Member member = new Member("l2Member", 10, cacheTeam);
+            memberJpaRepository.save(member);
+            return member.getId();
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username = 'l2Member'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'l2Team'").executeUpdate();
+        });
+    }
+
+    @Test
+    void findByIdFromCache() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        // 첫 조회시 2차 캐시에 저장
+        tx.executeWithoutResult(status ->
+                memberJpaRepository.findById(memberId).get().getTeam().getName());
+
+        long hitCount = statistics.getSecondLevelCacheHitCount();
+        String teamName = tx.execute(status ->
+                memberJpaRepository.findById(memberId).get().getTeam().getName());
+
+        // Member, Team 모두 2차 캐시에서 조회
+        assertThat(teamName).isEqualTo("l2Team");
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hitCount + 2);
+    }
+}
@@ -0,0 +1,115 @@
+package com.jpa.querydsl.instrumentation;
+
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter.Scope;
+import com.jpa.querydsl.respository.MemberJpaRepository;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+
+import static com.jpa.querydsl.entity.QMember.member;
+import static com.jpa.querydsl.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class SqlBudgetTest {
+
+    private static final int TEAMS = 6;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    JPAQueryFactory queryFactory;
+
+    SqlBudget budget = new SqlBudget(SqlBudget.Mode.FAIL, 30, Duration.ofSeconds(1), 5);
+
+    @BeforeEach
+    void before() {
+        queryFactory = new JPAQueryFactory(em);
+        for (int i = 0; i < TEAMS; i++) {
+            Team t = new Team("budgetTeam" + i);
+            em.persist(t);
+            em.persist(new Member("budgetMember" + i, 10 + i, t));
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+    }
+
+    /**
+     * 회원마다 팀 이름을 따로 조회하면 같은 SQL 이 반복된다.
+     * (지연 로딩 team 은 default_batch_fetch_size 로 묶이므로 직접 쿼리를 반복한다)
+     */
+    @Test
+    void perRowQueryIsSuspectedNPlusOne() {
+        Scope scope = SqlStatementCounter.begin("perRow");
+        try {
+            List<Member> members = queryFactory
+                    .selectFrom(member)
+                    .where(member.username.startsWith("budgetMember"))
+                    .fetch();
+            members.forEach(m -> queryFactory
+                    .select(team.name)
+                    .from(team)
+                    .where(team.id.eq(m.getTeam().getId()))
+                    .fetchOne());
+        } finally {
+            SqlStatementCounter.end(scope);
+        }
+
+        assertThat(scope.getStatements()).isEqualTo(1 + TEAMS);
+        assertThat(scope.getCountsBySql().values()).contains(TEAMS);
+        assertThatThrownBy(() -> budget.check(scope, true))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("suspected N+1");
+        // 응답이 이미 나간 경우(HTTP)에는 로그만 남긴다.
+        budget.check(scope, false);
+    }
+
+    @Test
+    void fetchJoinStaysInBudget() {
+        Scope scope = SqlStatementCounter.begin("fetchJoin");
+        try {
+            List<Member> members = queryFactory
+                    .selectFrom(member)
+                    .join(member.team, team).fetchJoin()
+                    .where(member.username.startsWith("budgetMember"))
+                    .fetch();
+            members.forEach(m -> m.getTeam().getName());
+        } finally {
+            SqlStatementCounter.end(scope);
+        }
+
+        assertThat(scope.getStatements()).isEqualTo(1);
+        budget.check(scope, true);
+    }
+
+    /**
+     * 리포지토리 호출 SQL은 바깥 범위에도 함께 기록된다. (중첩 Scope)
+     */
+    @Test
+    void repositoryStatementsAreCounted() {
+        Scope scope = SqlStatementCounter.begin("outer");
+        try {
+            memberJpaRepository.findByUsername_Querydsl("budgetMember0");
+        } finally {
+            SqlStatementCounter.end(scope);
+        }
+
+        assertThat(scope.getStatements()).isEqualTo(1);
+        assertThat(scope.getCountsBySql().keySet()).allMatch(sql -> sql.startsWith("select"));
+    }
+}
@@ -4,8 +4,12 @@ import com.jpa.querydsl.dto.MemberSearchCondition;
 import com.jpa.querydsl.dto.MemberTeamDto;
 import com.jpa.querydsl.entity.Member;
 import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter.Scope;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.assertj.core.api.Assertions;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +50,43 @@ class MemberJpaRepositoryTest {
 
     }
 
+    /**
+     * 조회 전용으로 읽은 엔티티는 변경 감지용 스냅샷이 없고, 변경해도 flush 되지 않는다.
+     */
+    @Test
+    void findAllReadOnly() {
+        Member member = new Member("readOnlyMember", 10);
+        em.persist(member);
+        em.flush();
+        em.clear();
+
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        Statistics statistics = session.getFactory().getStatistics();
+
+        Member normal = findById(memberJpaRepository.findAll_Querydsl(), member.getId());
+        assertThat(session.getPersistenceContext().getEntry(normal).getLoadedState()).isNotNull();
+        em.clear();
+
+        Member readOnly = findById(memberJpaRepository.findAll_QuerydslReadOnly(), member.getId());
+        assertThat(session.isReadOnly(readOnly)).isTrue();
+        assertThat(session.getPersistenceContext().getEntry(readOnly).getLoadedState()).isNull();
+
+        long updates = statistics.getEntityUpdateCount();
+        readOnly.setAge(-1);
+        em.flush();
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(updates);
+
+        em.clear();
+        assertThat(em.find(Member.class, member.getId()).getAge()).isEqualTo(10);
+    }
+
+    private Member findById(List<Member> members, Long id) {
+        return members.stream()
+                .filter(m -> m.getId().equals(id))
+                .findFirst()
+                .orElseThrow();
+    }
+
     @Test
     void searchTest() {
         Team teamA = new Team("teamA");
@@ -101,4 +142,51 @@ class MemberJpaRepositoryTest {
 
         assertThat(result).extracting("username").containsExactly("member4");
     }
-}
\ No newline at end of file
+
+    /**
+     * 팀 프록시는 default_batch_fetch_size 만큼 IN 으로 묶어서 초기화된다.
+     */
+    @Test
+    void batchFetchTeam() {
+        for (int i = 0; i < 6; i++) {
+            Team team = new Team("batchTeam" + i);
+            em.persist(team);
+            em.persist(new Member("batchMember" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        Scope scope = SqlStatementCounter.begin("batch");
+        try {
+            memberJpaRepository.findAll_Querydsl().forEach(m -> m.getTeam().getName());
+        } finally {
+            SqlStatementCounter.end(scope);
+        }
+        // 회원 1번 + 팀 1번
+        assertThat(scope.getStatements()).isEqualTo(2);
+    }
+
+    @Test
+    void findAllWithTeam() {
+        for (int i = 0; i < 6; i++) {
+            Team team = new Team("graphTeam" + i);
+            em.persist(team);
+            em.persist(new Member("graphMember" + i, i, team));
+        }
+        em.flush();
+        em.clear();
+
+        Scope scope = SqlStatementCounter.begin("graph");
+        List<Member> members;
+        try {
+            members = memberJpaRepository.findAllWithTeam_Querydsl();
+            members.forEach(m -> m.getTeam().getName());
+        } finally {
+            SqlStatementCounter.end(scope);
+        }
+        assertThat(scope.getStatements()).isEqualTo(1);
+        assertThat(members).allMatch(m -> em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(m, "team"));
+        assertThat(memberJpaRepository.findAllWithTeam()).hasSameSizeAs(members);
+    }
+}
@@ -1,24 +1,40 @@
 package com.jpa.querydsl.respository;
 
+import com.jpa.querydsl.cache.MemberChangeTracker;
+import com.jpa.querydsl.cache.MemberCountCache;
+import com.jpa.querydsl.cache.MemberSearchCache;
+import com.jpa.querydsl.cache.TeamDictionary;
+import com.jpa.querydsl.dto.CursorSlice;
+import com.jpa.querydsl.dto.EstimatedPage;
+import com.jpa.querydsl.dto.InvalidCursorException;
+import com.jpa.querydsl.dto.MemberBulkDto;
 import com.jpa.querydsl.dto.MemberSearchCondition;
 import com.jpa.querydsl.dto.MemberTeamDto;
+import com.jpa.querydsl.dto.UpsertResult;
 import com.jpa.querydsl.entity.Member;
 import com.jpa.querydsl.entity.Team;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
-@DataJpaTest
+// estimate 모드 상한을 넘는 경우를 확인할 수 있도록 작게 설정
+@DataJpaTest(properties = "member.search.count-estimate.limit=3")
+@Import({MemberChangeTracker.class, MemberCountCache.class, MemberSearchCache.class, MemberSearchQueryCache.class, TeamDictionary.class})
 @Transactional
 class MemberRepositoryTest {
 
@@ -96,6 +112,7 @@ class MemberRepositoryTest {
         PageImpl<MemberTeamDto> result = memberRepository.searchPageSimple(condition, pageRequest);
 
         assertThat(result.getSize()).isEqualTo(3);
+        assertThat(result.getTotalElements()).isEqualTo(4);
         assertThat(result.getContent()).extracting("username").containsExactly("member1","member2","member3");
     }
 
@@ -124,5 +141,247 @@ class MemberRepositoryTest {
 
         assertThat(result.getSize()).isEqualTo(3);
         assertThat(result.getContent()).extracting("username").containsExactly("member1","member2","member3");
+
+        // 팀 조건이 있으면 조인 후 카운트
+        condition.setTeamName("teamB");
+        Page<MemberTeamDto> teamResult = memberRepository.searchPageComplex(condition, PageRequest.of(0, 1));
+        assertThat(teamResult.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void searchSliceByPageable() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 1; i <= 4; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        Slice<MemberTeamDto> first = memberRepository.searchSlice(condition, PageRequest.of(0, 3));
+        assertThat(first.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(first.hasNext()).isTrue();
+
+        Slice<MemberTeamDto> last = memberRepository.searchSlice(condition, PageRequest.of(1, 3));
+        assertThat(last.getContent()).extracting("username").containsExactly("member4");
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void searchSlice() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+
+        Member member3 = new Member("member3", 30, teamB);
+        Member member4 = new Member("member4", 40, teamB);
+
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        CursorSlice<MemberTeamDto> first = memberRepository.searchSlice(condition, null, 3);
+        assertThat(first.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(first.isHasNext()).isTrue();
+
+        CursorSlice<MemberTeamDto> second = memberRepository.searchSlice(condition, first.getNextCursor(), 3);
+        assertThat(second.getContent()).extracting("username").containsExactly("member4");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void searchSliceByInvalidCursor() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        // 리포지토리 프록시가 변환하지 않고 그대로 던진다. (컨트롤러에서 400)
+        assertThatThrownBy(() -> memberRepository.searchSlice(condition, "not-a-cursor", 3))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void searchPageCountCache() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        PageRequest pageRequest = PageRequest.of(0, 1);
+
+        assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(2);
+
+        // 저장시 캐시된 카운트 무효화
+        em.persist(new Member("member3", 30, teamA));
+        assertThat(memberRepository.searchPageComplex(condition, pageRequest).getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void searchPageEstimated() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("member" + i, i, teamA));
+        }
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeLoe(2);
+        EstimatedPage<MemberTeamDto> result = memberRepository.searchPageEstimated(condition, PageRequest.of(0, 2));
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.isTotalExact()).isTrue();
+    }
+
+    /**
+     * 상한(3)을 넘으면 상한까지만 세고 정확하지 않다고 표시한다.
+     */
+    @Test
+    void searchPageEstimatedOverLimit() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("member" + i, i, teamA));
+        }
+
+        EstimatedPage<MemberTeamDto> result = memberRepository.searchPageEstimated(
+                new MemberSearchCondition(), PageRequest.of(0, 2));
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.isTotalExact()).isFalse();
+    }
+
+    /**
+     * 사전을 읽은 뒤에 추가된 팀도 이름으로 검색되어야 한다.
+     */
+    @Test
+    void searchByTeamNameAfterTeamAdded() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamC");
+        assertThat(memberRepository.searchSlice(condition, PageRequest.of(0, 10)).getContent()).isEmpty();
+
+        Team teamC = new Team("teamC");
+        em.persist(teamC);
+        em.persist(new Member("member1", 10, teamC));
+
+        Slice<MemberTeamDto> result = memberRepository.searchSlice(condition, PageRequest.of(0, 10));
+        assertThat(result.getContent()).extracting("username").containsExactly("member1");
+        assertThat(result.getContent()).extracting("teamName").containsExactly("teamC");
+    }
+
+    @Test
+    void upsert() {
+        Team teamA = new Team("upsertTeam");
+        em.persist(teamA);
+        em.persist(new Member("upsertMember1", 10));
+
+        UpsertResult result = memberRepository.upsert(Arrays.asList(
+                new MemberBulkDto("upsertMember1", 11, "upsertTeam"),
+                new MemberBulkDto("upsertMember2", 20, null),
+                new MemberBulkDto("upsertMember2", 21, "upsertTeam")));
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+
+        List<Member> members = em.createQuery(
+                        "select m from Member m join fetch m.team where m.username like 'upsertMember%' order by m.username",
+                        Member.class)
+                .getResultList();
+        assertThat(members).extracting("age").containsExactly(11, 21);
+        assertThat(members).extracting(m -> m.getTeam().getName()).containsExactly("upsertTeam", "upsertTeam");
+    }
+
+    /**
+     * username 이 같은 행이 이미 여러 개면 모두 수정되고 수정한 행 수로 센다.
+     */
+    @Test
+    void upsertDuplicatedUsername() {
+        em.persist(new Member("upsertMember1", 10));
+        em.persist(new Member("upsertMember1", 20));
+
+        UpsertResult result = memberRepository.upsert(Arrays.asList(
+                new MemberBulkDto("upsertMember1", 30, null),
+                new MemberBulkDto("upsertMember2", 40, null)));
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(em.createQuery("select m.age from Member m where m.username like 'upsertMember%' order by m.age",
+                Integer.class).getResultList()).containsExactly(30, 30, 40);
+    }
+
+    @Test
+    void findWithTeamByUsername() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.flush();
+        em.clear();
+
+        List<Member> result = memberRepository.findWithTeamByUsername("member1");
+
+        assertThat(result).hasSize(1);
+        assertThat(em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(result.get(0), "team")).isTrue();
+        assertThat(result.get(0).getTeam().getName()).isEqualTo("teamA");
+    }
+
+    /**
+     * 같은 나이는 member.id 로 순서가 고정된다.
+     */
+    @Test
+    void searchPageSorted() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 20, teamA));
+        em.persist(new Member("member2", 10, teamA));
+        em.persist(new Member("member3", 20, teamA));
+        em.persist(new Member("member4", 30, teamA));
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        PageRequest first = PageRequest.of(0, 2, Sort.by(Sort.Order.desc("age")));
+        PageRequest second = PageRequest.of(1, 2, Sort.by(Sort.Order.desc("age")));
+
+        assertThat(memberRepository.searchPageComplex(condition, first).getContent())
+                .extracting("username").containsExactly("member4", "member3");
+        assertThat(memberRepository.searchPageSimple(condition, second).getContent())
+                .extracting("username").containsExactly("member1", "member2");
+    }
+
+    @Test
+    void searchPageSortedByUnindexedProperty() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        assertThatThrownBy(() -> memberRepository.searchPageComplex(condition,
+                PageRequest.of(0, 2, Sort.by("teamName"))))
+                .isInstanceOf(InvalidSortException.class)
+                .hasMessageContaining("teamName");
+    }
+
+    /**
+     * 인덱스 하나를 한 방향으로 읽는 형태(속성 하나 + 같은 방향 memberId)만 허용한다.
+     */
+    @Test
+    void searchPageSortedByMultipleKeys() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        assertThat(memberRepository.searchPageComplex(condition,
+                PageRequest.of(0, 2, Sort.by(Sort.Order.desc("age"), Sort.Order.desc("memberId")))))
+                .isNotNull();
+        assertThatThrownBy(() -> memberRepository.searchPageComplex(condition,
+                PageRequest.of(0, 2, Sort.by(Sort.Order.asc("age"), Sort.Order.desc("memberId")))))
+                .isInstanceOf(InvalidSortException.class);
+        assertThatThrownBy(() -> memberRepository.searchPageComplex(condition,
+                PageRequest.of(0, 2, Sort.by("age", "username"))))
+                .isInstanceOf(InvalidSortException.class);
+        assertThatThrownBy(() -> memberRepository.searchPageComplex(condition,
+                PageRequest.of(0, 2, Sort.by("memberId", "age"))))
+                .isInstanceOf(InvalidSortException.class);
     }
-}
\ No newline at end of file
+}
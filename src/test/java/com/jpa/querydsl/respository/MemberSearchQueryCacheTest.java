@@ -0,0 +1,95 @@
+package com.jpa.querydsl.respository;
+
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberSearchQueryCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberSearchQueryCache searchQueryCache;
+
+    @BeforeEach
+    void before() {
+        Team teamA = new Team("shapeTeamA");
+        Team teamB = new Team("shapeTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 0; i < 10; i++) {
+            em.persist(new Member("shapeMember" + (i % 3), i * 10, i % 2 == 0 ? teamA : teamB));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * 16가지 조건 형태 모두 매번 쿼리를 만드는 방식과 결과가 같아야 한다.
+     */
+    @Test
+    void allShapes() {
+        for (int shape = 0; shape < 16; shape++) {
+            MemberSearchCondition condition = conditionOf(shape);
+            assertThat(MemberSearchQueryCache.shapeOf(condition)).isEqualTo(shape);
+            assertThat(searchQueryCache.search(condition))
+                    .containsExactlyInAnyOrderElementsOf(memberJpaRepository.searchByBuilder(condition));
+        }
+    }
+
+    /**
+     * 값이 달라도 형태가 같으면 JPQL 문자열이 같으므로 쿼리 플랜을 다시 만들지 않는다.
+     */
+    @Test
+    void planCacheHit() {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        int shape = MemberSearchQueryCache.USERNAME | MemberSearchQueryCache.AGE_GOE | MemberSearchQueryCache.AGE_LOE;
+        searchQueryCache.createQuery(conditionOf(shape));
+
+        long misses = statistics.getQueryPlanCacheMissCount();
+        long hits = statistics.getQueryPlanCacheHitCount();
+        for (int i = 0; i < 100; i++) {
+            MemberSearchCondition condition = conditionOf(shape);
+            condition.setUsername("shapeMember" + i);
+            condition.setAgeGoe(i);
+            searchQueryCache.createQuery(condition);
+        }
+
+        assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(misses);
+        assertThat(statistics.getQueryPlanCacheHitCount()).isEqualTo(hits + 100);
+    }
+
+    private MemberSearchCondition conditionOf(int shape) {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        if ((shape & MemberSearchQueryCache.USERNAME) != 0) {
+            condition.setUsername("shapeMember1");
+        }
+        if ((shape & MemberSearchQueryCache.TEAM_NAME) != 0) {
+            condition.setTeamName("shapeTeamB");
+        }
+        if ((shape & MemberSearchQueryCache.AGE_GOE) != 0) {
+            condition.setAgeGoe(20);
+        }
+        if ((shape & MemberSearchQueryCache.AGE_LOE) != 0) {
+            condition.setAgeLoe(80);
+        }
+        return condition;
+    }
+}
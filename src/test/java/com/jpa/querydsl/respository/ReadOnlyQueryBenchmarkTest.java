@@ -0,0 +1,121 @@
+package com.jpa.querydsl.respository;
+
+import com.jpa.querydsl.Benchmarks;
+import com.jpa.querydsl.entity.Member;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * findAll_Querydsl 과 findAll_QuerydslReadOnly 비교
+ * 결과를 들고 있는 동안의 힙 증가량, 조회 + 커밋(flush 시 변경 감지)까지의 CPU 시간 (대략적인 값)
+ * 먼저 실행한 쪽이 JIT 워밍업 비용을 떠안지 않도록 둘 다 워밍업한 뒤 번갈아 반복 측정하고 중앙값을 비교한다.
+ * 조회 전용 엔티티에 스냅샷이 없고 flush 되지 않는 것은 MemberJpaRepositoryTest 에서 확인한다.
+ */
+@SpringBootTest
+@Tag(Benchmarks.TAG)
+@Slf4j
+class ReadOnlyQueryBenchmarkTest {
+
+    private static final int ROWS = 20000;
+    private static final String USERNAME = "readOnlyBenchMember";
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void before() {
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                em.persist(new Member(USERNAME, i));
+                if (i % 100 == 99) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.username = '" + USERNAME + "'").executeUpdate());
+    }
+
+    @Test
+    void findAll() {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            measure(memberJpaRepository::findAll_Querydsl);
+            measure(memberJpaRepository::findAll_QuerydslReadOnly);
+        }
+
+        List<Measurement> normal = new ArrayList<>();
+        List<Measurement> readOnly = new ArrayList<>();
+        for (int i = 0; i < ROUNDS; i++) {
+            // 순서에 따른 영향이 한쪽에 몰리지 않도록 번갈아 먼저 실행한다.
+            if (i % 2 == 0) {
+                normal.add(measure(memberJpaRepository::findAll_Querydsl));
+                readOnly.add(measure(memberJpaRepository::findAll_QuerydslReadOnly));
+            } else {
+                readOnly.add(measure(memberJpaRepository::findAll_QuerydslReadOnly));
+                normal.add(measure(memberJpaRepository::findAll_Querydsl));
+            }
+        }
+
+        log.info("findAll {} rows (median of {}): normal {}ms cpu / heap {}KB, readOnly {}ms cpu / heap {}KB",
+                ROWS, ROUNDS, median(normal, m -> m.cpuMillis), median(normal, m -> m.heap) / 1024,
+                median(readOnly, m -> m.cpuMillis), median(readOnly, m -> m.heap) / 1024);
+
+        assertThat(normal).allMatch(m -> m.rows >= ROWS);
+        assertThat(readOnly).extracting(m -> m.rows).containsOnly(normal.get(0).rows);
+    }
+
+    private Measurement measure(Supplier<List<Member>> query) {
+        em.getEntityManagerFactory().getCache().evictAll();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Measurement measurement = new Measurement();
+        long heapBefore = Benchmarks.usedHeap();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        tx.executeWithoutResult(status -> {
+            List<Member> members = query.get();
+            measurement.rows = members.size();
+            measurement.heap = Benchmarks.usedHeap() - heapBefore;
+        });
+        measurement.cpuMillis = (threads.getCurrentThreadCpuTime() - cpuStart) / 1_000_000;
+        return measurement;
+    }
+
+    private long median(List<Measurement> measurements, ToLongFunction<Measurement> value) {
+        long[] values = measurements.stream().mapToLong(value).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static class Measurement {
+        int rows;
+        long heap;
+        long cpuMillis;
+    }
+}
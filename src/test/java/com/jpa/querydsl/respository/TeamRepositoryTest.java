@@ -0,0 +1,97 @@
+package com.jpa.querydsl.respository;
+
+import com.jpa.querydsl.dto.TeamMemberDto;
+import com.jpa.querydsl.dto.TeamRosterDto;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// SQL 집계(HibernateConfig)가 필요하므로 전체 컨텍스트
+@SpringBootTest
+@Transactional
+class TeamRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @BeforeEach
+    void before() {
+        Team rosterA = new Team("rosterA");
+        Team rosterB = new Team("rosterB");
+        Team rosterC = new Team("rosterC");
+        em.persist(rosterA);
+        em.persist(rosterB);
+        em.persist(rosterC);
+
+        em.persist(new Member("member1", 10, rosterA));
+        em.persist(new Member("member2", 20, rosterA));
+        em.persist(new Member("member3", 30, rosterC));
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * 페이징은 회원 행이 아니라 팀 기준이고, 회원이 없는 팀도 포함된다.
+     */
+    @Test
+    void searchRoster() {
+        Scope scope = SqlStatementCounter.begin("roster");
+        Page<TeamRosterDto> first;
+        try {
+            first = teamRepository.searchRoster("roster", PageRequest.of(0, 2));
+        } finally {
+            SqlStatementCounter.end(scope);
+        }
+
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.getContent()).extracting("teamName").containsExactly("rosterA", "rosterB");
+        assertThat(first.getContent().get(0).getMembers())
+                .extracting(TeamMemberDto::getUsername).containsExactly("member1", "member2");
+        assertThat(first.getContent().get(1).getMembers()).isEmpty();
+        // 팀 페이지 + 회원 + 카운트
+        assertThat(scope.getStatements()).isEqualTo(3);
+
+        Page<TeamRosterDto> second = teamRepository.searchRoster("roster", PageRequest.of(1, 2));
+        assertThat(second.getContent()).extracting("teamName").containsExactly("rosterC");
+        assertThat(second.getContent().get(0).getMembers())
+                .extracting(TeamMemberDto::getUsername).containsExactly("member3");
+    }
+
+    @Test
+    void searchRosterSorted() {
+        Page<TeamRosterDto> result = teamRepository.searchRoster("roster",
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "teamName")));
+
+        assertThat(result.getContent()).extracting("teamName").containsExactly("rosterC", "rosterB");
+        assertThat(result.getContent().get(0).getMembers())
+                .extracting(TeamMemberDto::getUsername).containsExactly("member3");
+    }
+
+    /**
+     * 허용하지 않는 정렬은 무시하지 않고 거부한다.
+     */
+    @Test
+    void searchRosterInvalidSort() {
+        assertThatThrownBy(() -> teamRepository.searchRoster("roster", PageRequest.of(0, 2, Sort.by("members"))))
+                .isInstanceOf(InvalidSortException.class);
+        assertThatThrownBy(() -> teamRepository.searchRoster("roster", PageRequest.of(0, 2, Sort.by("teamName", "teamId"))))
+                .isInstanceOf(InvalidSortException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.jpa.querydsl.respository;
+
+import com.jpa.querydsl.dto.TeamMemberDto;
+import com.jpa.querydsl.dto.TeamRosterDto;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter.Scope;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 팀 명단 조회 비용 비교
+ * - 지연 로딩: 팀 목록을 읽고 Team.getMembers() 순회 (회원은 default_batch_fetch_size 개 팀씩 IN 으로, 엔티티를 모두 관리)
+ * - 명단: TeamRepository.searchRoster (팀 페이지, 회원, 카운트 3번)
+ */
+@SpringBootTest
+@Slf4j
+class TeamRosterBenchmarkTest {
+
+    private static final int TEAMS = 100;
+    private static final int MEMBERS_PER_TEAM = 20;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size}")
+    int batchFetchSize;
+
+    @BeforeEach
+    void before() {
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < TEAMS; i++) {
+                Team team = new Team("rosterBenchTeam" + i);
+                em.persist(team);
+                for (int j = 0; j < MEMBERS_PER_TEAM; j++) {
+                    Member member = new Member("rosterBenchMember", j);
+                    member.assignTeam(team);
+                    em.persist(member);
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username = 'rosterBenchMember'").executeUpdate();
+            em.createQuery("delete from Team t where t.name like 'rosterBenchTeam%'").executeUpdate();
+        });
+    }
+
+    @Test
+    void roster() {
+        em.getEntityManagerFactory().getCache().evictAll();
+        Scope lazyScope = SqlStatementCounter.begin("lazy");
+        long lazyStart = System.currentTimeMillis();
+        List<TeamRosterDto> lazy;
+        try {
+            lazy = tx.execute(status -> em.createQuery(
+                            "select t from Team t where t.name like 'rosterBenchTeam%' order by t.id", Team.class)
+                    .getResultList().stream()
+                    .map(team -> {
+                        TeamRosterDto roster = new TeamRosterDto(team.getId(), team.getName());
+                        roster.setMembers(team.getMembers().stream()
+                                .map(m -> new TeamMemberDto(m.getId(), m.getUsername(), m.getAge()))
+                                .collect(Collectors.toList()));
+                        return roster;
+                    })
+                    .collect(Collectors.toList()));
+        } finally {
+            SqlStatementCounter.end(lazyScope);
+        }
+        long lazyMillis = System.currentTimeMillis() - lazyStart;
+
+        em.getEntityManagerFactory().getCache().evictAll();
+        Scope rosterScope = SqlStatementCounter.begin("roster");
+        long rosterStart = System.currentTimeMillis();
+        Page<TeamRosterDto> roster;
+        try {
+            roster = teamRepository.searchRoster("rosterBenchTeam", PageRequest.of(0, TEAMS));
+        } finally {
+            SqlStatementCounter.end(rosterScope);
+        }
+        long rosterMillis = System.currentTimeMillis() - rosterStart;
+
+        log.info("{} teams x {} members: lazy {}ms / {} statements, roster {}ms / {} statements",
+                TEAMS, MEMBERS_PER_TEAM, lazyMillis, lazyScope.getStatements(),
+                rosterMillis, rosterScope.getStatements());
+
+        // 팀 1번 + 회원 ceil(팀 수 / batch) 번
+        assertThat(lazyScope.getStatements()).isEqualTo(1 + (TEAMS + batchFetchSize - 1) / batchFetchSize);
+        assertThat(rosterScope.getStatements()).isLessThanOrEqualTo(3);
+        assertThat(roster.getContent()).hasSize(TEAMS);
+        assertThat(roster.getContent()).extracting("members").allMatch(m -> ((List<?>) m).size() == MEMBERS_PER_TEAM);
+        assertThat(roster.getContent()).usingRecursiveFieldByFieldElementComparator().isEqualTo(lazy);
+    }
+}
@@ -0,0 +1,129 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.BulkUpdateResult;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter;
+import com.jpa.querydsl.instrumentation.SqlStatementCounter.Scope;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.jpa.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 청크마다 커밋하므로 테스트 데이터를 커밋하고 마지막에 지운다.
+ */
+@SpringBootTest(properties = {"member.bulk-update.chunk-size=10", "member.bulk-update.throttle=1ms"})
+class MemberBulkUpdateServiceTest {
+
+    @Autowired
+    MemberBulkUpdateService memberBulkUpdateService;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void before() {
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < 25; i++) {
+                em.persist(new Member("chunkMember", i));
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username = 'chunkMember'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'chunkTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    void update() {
+        BulkUpdateResult result = memberBulkUpdateService.update(member.username.eq("chunkMember"),
+                update -> update.set(member.age, member.age.add(1)));
+
+        assertThat(result.getAffectedRows()).isEqualTo(25);
+        assertThat(result.getChunks()).isGreaterThanOrEqualTo(3);
+        assertThat(ages()).containsExactlyElementsOf(
+                IntStream.rangeClosed(1, 25).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void delete() {
+        BulkUpdateResult result = memberBulkUpdateService.delete(
+                member.username.eq("chunkMember").and(member.age.goe(5)));
+
+        assertThat(result.getAffectedRows()).isEqualTo(20);
+        assertThat(ages()).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    /**
+     * 회원 수와 상관없이 id 범위 조회 1번 + 청크마다 update 1번만 실행하고 엔티티를 읽지 않는다.
+     */
+    @Test
+    void reassignTeam() {
+        Long teamId = tx.execute(status -> {
+            Team team = new Team("chunkTeam");
+            em.persist(team);
+            return team.getId();
+        });
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long loads = statistics.getEntityLoadCount();
+
+        Scope scope = SqlStatementCounter.begin("reassignTeam");
+        BulkUpdateResult result;
+        try {
+            result = memberBulkUpdateService.reassignTeam(member.username.eq("chunkMember"), teamId);
+        } finally {
+            SqlStatementCounter.end(scope);
+        }
+
+        assertThat(result.getAffectedRows()).isEqualTo(25);
+        assertThat(scope.getStatements()).isEqualTo(1 + result.getChunks());
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(loads);
+        Long moved = tx.execute(status -> em.createQuery(
+                        "select count(m) from Member m where m.team.id = :teamId", Long.class)
+                .setParameter("teamId", teamId)
+                .getSingleResult());
+        assertThat(moved).isEqualTo(25);
+    }
+
+    @Test
+    void notMatched() {
+        BulkUpdateResult result = memberBulkUpdateService.delete(member.username.eq("noMember"));
+
+        assertThat(result.getChunks()).isZero();
+        assertThat(result.getAffectedRows()).isZero();
+    }
+
+    @Test
+    void insideTransaction() {
+        assertThatThrownBy(() -> tx.executeWithoutResult(status ->
+                memberBulkUpdateService.delete(member.username.eq("chunkMember"))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private List<Integer> ages() {
+        return tx.execute(status -> em.createQuery(
+                        "select m.age from Member m where m.username = 'chunkMember' order by m.age", Integer.class)
+                .getResultList());
+    }
+}
@@ -0,0 +1,169 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.SeedResult;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 적재는 커밋되므로 마지막에 지운다.
+ */
+@SpringBootTest
+@Slf4j
+class MemberCsvLoadServiceTest {
+
+    private static final int ROWS = 5000;
+    private static final int TEAMS = 10;
+
+    @Autowired
+    MemberCsvLoadService memberCsvLoadService;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'csvMember%'"
+                    + " or m.username like 'entityMember%'").executeUpdate();
+            em.createQuery("delete from Team t where t.name like 'csvTeam%'"
+                    + " or t.name like 'entityTeam%'").executeUpdate();
+        });
+    }
+
+    @Test
+    void load() throws IOException {
+        Path teamCsv = write("teams.csv", "name", List.of("csvTeam0", "csvTeam1"));
+        Path memberCsv = write("members.csv", "username,age,teamName", List.of(
+                "csvMember0,10,csvTeam0",
+                "csvMember1,20,csvTeam2",
+                "csvMember2,30,",
+                "\"csvMember,3\",40,csvTeam0"));
+
+        SeedResult result = memberCsvLoadService.load(teamCsv, memberCsv);
+
+        assertThat(result.getTeams()).isEqualTo(3);
+        assertThat(result.getMembers()).isEqualTo(4);
+
+        List<Object[]> rows = tx.execute(status -> em.createQuery(
+                        "select m.username, m.age, t.name from Member m left join m.team t"
+                                + " where m.username like 'csvMember%' order by m.age", Object[].class)
+                .getResultList());
+        assertThat(rows).extracting(row -> row[0])
+                .containsExactly("csvMember0", "csvMember1", "csvMember2", "csvMember,3");
+        assertThat(rows).extracting(row -> row[2])
+                .containsExactly("csvTeam0", "csvTeam2", null, "csvTeam0");
+    }
+
+    /**
+     * 이미 있는 팀 이름은 다시 입력하지 않는다.
+     */
+    @Test
+    void loadExistingTeams() throws IOException {
+        Path teamCsv = write("teams.csv", "name", List.of("csvTeam0", "csvTeam1"));
+        memberCsvLoadService.load(teamCsv, null);
+
+        Path memberCsv = write("members.csv", "username,age,teamName", List.of(
+                "csvMember0,10,csvTeam0",
+                "csvMember1,20,csvTeam2"));
+        SeedResult result = memberCsvLoadService.load(teamCsv, memberCsv);
+
+        assertThat(result.getTeams()).isEqualTo(1);
+        assertThat(result.getMembers()).isEqualTo(2);
+        assertThat(count("select count(t) from Team t where t.name like 'csvTeam%'")).isEqualTo(3);
+    }
+
+    /**
+     * 변환할 수 없는 행이 있으면 트랜잭션 전체가 롤백되어 아무것도 남지 않는다.
+     */
+    @Test
+    void loadInvalidRow() throws IOException {
+        Path memberCsv = write("members.csv", "username,age,teamName", List.of(
+                "csvMember0,10,csvTeam0",
+                "csvMember1,x,csvTeam0"));
+
+        assertThatThrownBy(() -> memberCsvLoadService.load(null, memberCsv))
+                .isInstanceOf(PersistenceException.class);
+
+        assertThat(count("select count(m) from Member m where m.username like 'csvMember%'")).isZero();
+        assertThat(count("select count(t) from Team t where t.name like 'csvTeam%'")).isZero();
+    }
+
+    /**
+     * 같은 건수를 CSV 적재와 엔티티 저장(InitMemberService 방식)으로 입력해서 비교
+     * CSV 적재는 영속성 컨텍스트와 JDBC 배치를 거치지 않으므로 더 빨라야 한다. (로컬에서 약 3배)
+     */
+    @Test
+    void benchmark() throws IOException {
+        List<String> lines = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            lines.add("csvMember" + i + "," + (i % 100) + ",csvTeam" + (i % TEAMS));
+        }
+        Path memberCsv = write("members.csv", "username,age,teamName", lines);
+
+        SeedResult csv = memberCsvLoadService.load(null, memberCsv);
+
+        long start = System.currentTimeMillis();
+        tx.executeWithoutResult(status -> {
+            List<Team> teams = new ArrayList<>(TEAMS);
+            for (int i = 0; i < TEAMS; i++) {
+                Team team = new Team("entityTeam" + i);
+                em.persist(team);
+                teams.add(team);
+            }
+            for (int i = 0; i < ROWS; i++) {
+                em.persist(new Member("entityMember" + i, i % 100, teams.get(i % TEAMS)));
+            }
+        });
+        long entityMillis = System.currentTimeMillis() - start;
+
+        log.info("csv load {} rows: {}ms, entity persist: {}ms", ROWS, csv.getElapsedMillis(), entityMillis);
+        assertThat(csv.getMembers()).isEqualTo(ROWS);
+        assertThat(csv.getTeams()).isEqualTo(TEAMS);
+        assertThat(count("select count(m) from Member m join m.team t"
+                + " where m.username like 'csvMember%' and t.name like 'csvTeam%'")).isEqualTo(ROWS);
+        assertThat(csv.getElapsedMillis()).isLessThan(entityMillis);
+    }
+
+    private long count(String jpql) {
+        return tx.execute(status -> em.createQuery(jpql, Long.class).getSingleResult());
+    }
+
+    private Path write(String name, String header, List<String> lines) throws IOException {
+        Path file = dir.resolve(name);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(header);
+            writer.newLine();
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,109 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.ExportResult;
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MemberExportServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberExportService memberExportService;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @Test
+    void exportCsvGzip(@TempDir Path dir) throws Exception {
+        Team exportTeam = new Team("exportTeam");
+        em.persist(exportTeam);
+        em.persist(new Member("export,member1", 10, exportTeam));
+        em.persist(new Member("exportMember2", 20, exportTeam));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("exportTeam");
+
+        Path file = dir.resolve("members.csv.gz");
+        ExportResult result = memberExportService.exportCsv(condition, file, true);
+
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+
+        assertThat(result.getRows()).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo("memberId,username,age,teamId,teamName");
+        // 구분자가 포함된 값은 따옴표로 감싼다.
+        assertThat(lines.get(1)).contains("\"export,member1\",10,", ",exportTeam");
+    }
+
+    /**
+     * StatelessSession 은 별도 커넥션을 사용하므로 커밋된 데이터로 확인한다.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportCsvStateless() throws Exception {
+        tx.executeWithoutResult(status -> {
+            Team exportTeam = new Team("statelessExportTeam");
+            em.persist(exportTeam);
+            em.persist(new Member("statelessExportMember1", 10, exportTeam));
+            em.persist(new Member("statelessExportMember2", 20, exportTeam));
+        });
+
+        try {
+            MemberSearchCondition condition = new MemberSearchCondition();
+            condition.setTeamName("statelessExportTeam");
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ExportResult result = memberExportService.exportCsvStateless(condition, out, false);
+
+            List<String> lines = Arrays.asList(out.toString(StandardCharsets.UTF_8.name()).split("\n"));
+            assertThat(result.getRows()).isEqualTo(2);
+            assertThat(lines).hasSize(3);
+            assertThat(lines.get(1)).contains(",statelessExportMember1,10,", ",statelessExportTeam");
+        } finally {
+            tx.executeWithoutResult(status -> {
+                em.createQuery("delete from Member m where m.username like 'statelessExportMember%'").executeUpdate();
+                em.createQuery("delete from Team t where t.name = 'statelessExportTeam'").executeUpdate();
+            });
+        }
+    }
+
+    @Test
+    void exportCsvStatelessInTransaction() {
+        assertThatThrownBy(() -> memberExportService.exportCsvStateless(
+                new MemberSearchCondition(), new ByteArrayOutputStream(), false))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
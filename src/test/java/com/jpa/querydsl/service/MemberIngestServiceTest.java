@@ -0,0 +1,125 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.BulkChunkReport;
+import com.jpa.querydsl.dto.BulkIngestResult;
+import com.jpa.querydsl.entity.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 청크마다 커밋하므로 입력한 데이터를 마지막에 지운다.
+ */
+@SpringBootTest(properties = "member.bulk.chunk-size=2")
+class MemberIngestServiceTest {
+
+    @Autowired
+    MemberIngestService memberIngestService;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void before() {
+        tx.executeWithoutResult(status -> em.persist(new Team("bulkTeam")));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'bulkMember%'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'bulkTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    void ingest() throws Exception {
+        String body = "["
+                + "{\"username\":\"bulkMember0\",\"age\":10,\"teamName\":\"bulkTeam\"},"
+                + "{\"username\":\"bulkMember1\",\"age\":20},"
+                + "{\"username\":\"\",\"age\":30,\"teamName\":\"bulkTeam\"},"
+                + "{\"username\":\"bulkMember3\",\"age\":40,\"teamName\":\"noTeam\"},"
+                + "{\"username\":\"bulkMember4\",\"age\":50,\"teamName\":\"bulkTeam\"}"
+                + "]";
+
+        BulkIngestResult result = memberIngestService.ingest(json(body));
+
+        assertThat(result.getRows()).isEqualTo(5);
+        assertThat(result.getInserted()).isEqualTo(3);
+        assertThat(result.getError()).isNull();
+        assertThat(result.getChunks()).extracting(BulkChunkReport::getInserted).containsExactly(2, 0, 1);
+        assertThat(result.getChunks()).allMatch(BulkChunkReport::isCommitted);
+        assertThat(result.getChunks().get(1).getRowErrors())
+                .extracting(BulkChunkReport.RowError::getRow)
+                .containsExactly(2L, 3L);
+
+        List<Long> counts = tx.execute(status -> em.createQuery(
+                        "select count(m) from Member m join m.team t"
+                                + " where m.username like 'bulkMember%' and t.name = 'bulkTeam'", Long.class)
+                .getResultList());
+        assertThat(counts).containsExactly(2L);
+    }
+
+    /**
+     * 값의 타입이 맞지 않는 행은 그 행만 건너뛴다.
+     */
+    @Test
+    void ingestTypeMismatch() throws Exception {
+        String body = "["
+                + "{\"username\":\"bulkMember0\",\"age\":10},"
+                + "{\"username\":\"bulkMember1\",\"age\":\"x\"},"
+                + "{\"username\":\"bulkMember2\",\"age\":30}"
+                + "]";
+
+        BulkIngestResult result = memberIngestService.ingest(json(body));
+
+        assertThat(result.getRows()).isEqualTo(3);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getError()).isNull();
+        assertThat(result.getChunks().get(0).getRowErrors())
+                .extracting(BulkChunkReport.RowError::getRow)
+                .containsExactly(1L);
+    }
+
+    /**
+     * JSON이 중간에 깨지면 앞에서 읽은 행까지는 저장된다.
+     */
+    @Test
+    void ingestBrokenJson() throws Exception {
+        String body = "["
+                + "{\"username\":\"bulkMember0\",\"age\":10},"
+                + "{\"username\":\"bulkMember1\",\"age\":20},"
+                + "{\"username\":\"bulkMember2\",\"age\":30},"
+                + "{\"username\":\"bulkMember3\",";
+
+        BulkIngestResult result = memberIngestService.ingest(json(body));
+
+        assertThat(result.getInserted()).isEqualTo(3);
+        assertThat(result.getError()).startsWith("3번째 행");
+    }
+
+    @Test
+    void ingestNotArray() {
+        assertThatThrownBy(() -> memberIngestService.ingest(json("{\"username\":\"bulkMember0\"}")))
+                .isInstanceOf(InvalidBulkRequestException.class);
+    }
+
+    private InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
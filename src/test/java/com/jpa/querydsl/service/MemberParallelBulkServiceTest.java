@@ -0,0 +1,117 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.BulkPartitionReport;
+import com.jpa.querydsl.dto.ParallelBulkResult;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import com.jpa.querydsl.service.MemberParallelBulkService.Partitioning;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static com.jpa.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 파티션마다 별도 트랜잭션에서 실행되므로 테스트 데이터를 커밋하고 마지막에 지운다.
+ */
+@SpringBootTest
+@Slf4j
+class MemberParallelBulkServiceTest {
+
+    @Autowired
+    MemberParallelBulkService memberParallelBulkService;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void before() {
+        tx.executeWithoutResult(status -> {
+            Team[] teams = {new Team("parallelTeam"), new Team("parallelTeam"), new Team("parallelTeam")};
+            for (Team team : teams) {
+                em.persist(team);
+            }
+            for (int i = 0; i < 30; i++) {
+                // 10건은 팀 없음
+                Team team = i < 10 ? null : teams[i % 3];
+                Member member = new Member("parallelMember", i);
+                member.setTeam(team);
+                em.persist(member);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username = 'parallelMember'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'parallelTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    void updateByTeam() {
+        ParallelBulkResult result = memberParallelBulkService.update(Partitioning.TEAM,
+                member.username.eq("parallelMember"),
+                update -> update.set(member.age, member.age.add(100)));
+        log.info("result = {}", result);
+
+        assertThat(result.getAffectedRows()).isEqualTo(30);
+        assertThat(result.getPartitions()).hasSize(4);
+        assertThat(result.getPartitions()).allMatch(BulkPartitionReport::isCommitted);
+        assertThat(result.getPartitions()).extracting(BulkPartitionReport::getPartition).contains("team_id is null");
+        assertThat(minAge()).isEqualTo(100);
+    }
+
+    @Test
+    void reassignTeam() {
+        Long teamId = tx.execute(status -> {
+            Team team = new Team("parallelTeam");
+            em.persist(team);
+            return team.getId();
+        });
+
+        ParallelBulkResult result = memberParallelBulkService.reassignTeam(
+                member.username.eq("parallelMember"), teamId);
+        log.info("result = {}", result);
+
+        assertThat(result.getAffectedRows()).isEqualTo(30);
+        assertThat(result.getPartitions()).allMatch(BulkPartitionReport::isCommitted);
+        assertThat(result.getPartitions()).extracting(BulkPartitionReport::getPartition)
+                .allMatch(partition -> partition.startsWith("member_id="));
+        Long moved = tx.execute(status -> em.createQuery(
+                        "select count(m) from Member m where m.username = 'parallelMember' and m.team.id = :teamId", Long.class)
+                .setParameter("teamId", teamId)
+                .getSingleResult());
+        assertThat(moved).isEqualTo(30);
+    }
+
+    @Test
+    void deleteByIdRange() {
+        ParallelBulkResult result = memberParallelBulkService.delete(Partitioning.ID_RANGE,
+                member.username.eq("parallelMember").and(member.age.lt(20)));
+        log.info("result = {}", result);
+
+        assertThat(result.getAffectedRows()).isEqualTo(20);
+        assertThat(result.getPartitions()).hasSizeLessThanOrEqualTo(4);
+        assertThat(minAge()).isEqualTo(20);
+    }
+
+    private Integer minAge() {
+        List<Integer> ages = tx.execute(status -> em.createQuery(
+                        "select min(m.age) from Member m where m.username = 'parallelMember'", Integer.class)
+                .getResultList());
+        return ages.get(0);
+    }
+}
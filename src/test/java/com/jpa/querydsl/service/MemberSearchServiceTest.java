@@ -0,0 +1,64 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.dto.MemberTeamDto;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 병렬 조회는 별도 트랜잭션에서 실행되므로 테스트 데이터를 커밋하고 마지막에 지운다.
+ */
+@SpringBootTest
+class MemberSearchServiceTest {
+
+    @Autowired
+    MemberSearchService memberSearchService;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void before() {
+        tx.executeWithoutResult(status -> {
+            Team asyncTeam = new Team("asyncTeam");
+            em.persist(asyncTeam);
+            for (int i = 0; i < 3; i++) {
+                em.persist(new Member("asyncMember", i, asyncTeam));
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username = 'asyncMember'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'asyncTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    void searchPageAsync() throws Exception {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("asyncMember");
+
+        Page<MemberTeamDto> result = memberSearchService.searchPageAsync(condition, PageRequest.of(0, 2)).get();
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.getTotalElements()).isEqualTo(3);
+    }
+}
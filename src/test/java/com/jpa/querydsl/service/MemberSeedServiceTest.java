@@ -0,0 +1,93 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.SeedResult;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대량 입력은 청크마다 커밋하므로 마지막에 입력한 데이터를 지운다.
+ */
+@SpringBootTest
+@Slf4j
+class MemberSeedServiceTest {
+
+    @Autowired
+    MemberSeedService memberSeedService;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    List<String> teamNames = Arrays.asList("team0", "team1", "team2");
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id in (select t.id from Team t where t.name in :names)")
+                    .setParameter("names", teamNames)
+                    .executeUpdate();
+            em.createQuery("delete from Team t where t.name in :names")
+                    .setParameter("names", teamNames)
+                    .executeUpdate();
+        });
+    }
+
+    @Test
+    void seed() {
+        SeedResult result = memberSeedService.seed(1234, 3);
+        log.info("seed result = {}", result);
+
+        assertThat(result.getMembers()).isEqualTo(1234);
+        assertThat(result.getTeams()).isEqualTo(3);
+
+        List<Object[]> counts = tx.execute(status -> em.createQuery(
+                        "select t.name, count(m) from Member m join m.team t"
+                                + " where t.name in :names group by t.name order by t.name", Object[].class)
+                .setParameter("names", teamNames)
+                .getResultList());
+
+        assertThat(counts).extracting(row -> row[0]).containsExactlyElementsOf(teamNames);
+        assertThat(counts).extracting(row -> row[1]).containsExactly(412L, 411L, 411L);
+    }
+
+    @Test
+    void seedStateless() {
+        SeedResult result = memberSeedService.seedStateless(1234, 3);
+        log.info("seed stateless result = {}", result);
+
+        List<Object[]> counts = tx.execute(status -> em.createQuery(
+                        "select t.name, count(m) from Member m join m.team t"
+                                + " where t.name in :names group by t.name order by t.name", Object[].class)
+                .setParameter("names", teamNames)
+                .getResultList());
+
+        assertThat(counts).extracting(row -> row[0]).containsExactlyElementsOf(teamNames);
+        assertThat(counts).extracting(row -> row[1]).containsExactly(412L, 411L, 411L);
+    }
+
+    /**
+     * 영속성 컨텍스트 + JDBC 배치와 StatelessSession 비교
+     */
+    @Test
+    void seedBenchmark() {
+        SeedResult stateful = memberSeedService.seed(20000, 3);
+        cleanUp();
+        SeedResult stateless = memberSeedService.seedStateless(20000, 3);
+
+        log.info("seed 20000 members: stateful {}ms, stateless {}ms",
+                stateful.getElapsedMillis(), stateless.getElapsedMillis());
+        assertThat(stateless.getMembers()).isEqualTo(stateful.getMembers());
+    }
+}
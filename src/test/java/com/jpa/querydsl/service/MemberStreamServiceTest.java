@@ -0,0 +1,78 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.dto.MemberSearchCondition;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberStreamServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberStreamService memberStreamService;
+
+    @Test
+    void writeNdjson() throws Exception {
+        Team streamTeam = new Team("streamTeam");
+        em.persist(streamTeam);
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Member("streamMember" + i, 10 + i, streamTeam));
+        }
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("streamTeam");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = memberStreamService.writeNdjson(condition, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(3);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"username\":\"streamMember0\"", "\"teamName\":\"streamTeam\"");
+    }
+
+    /**
+     * 행마다 JSON 하나와 '\n' 만 출력한다. (앞에 공백 없음, 마지막 행도 '\n'으로 끝남)
+     */
+    @Test
+    void writeNdjsonBytes() throws Exception {
+        Team streamTeam = new Team("streamTeam");
+        em.persist(streamTeam);
+        Member member0 = new Member("streamMember0", 10, streamTeam);
+        Member member1 = new Member("streamMember1", 11, streamTeam);
+        em.persist(member0);
+        em.persist(member1);
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("streamTeam");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        memberStreamService.writeNdjson(condition, out);
+
+        String line0 = "{\"memberId\":" + member0.getId() + ",\"username\":\"streamMember0\",\"age\":10,"
+                + "\"teamId\":" + streamTeam.getId() + ",\"teamName\":\"streamTeam\"}\n";
+        String line1 = "{\"memberId\":" + member1.getId() + ",\"username\":\"streamMember1\",\"age\":11,"
+                + "\"teamId\":" + streamTeam.getId() + ",\"teamName\":\"streamTeam\"}\n";
+        // 정렬 조건이 없으므로 순서는 보장하지 않는다.
+        assertThat(out.toByteArray()).isIn(
+                (line0 + line1).getBytes(StandardCharsets.UTF_8),
+                (line1 + line0).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,108 @@
+package com.jpa.querydsl.service;
+
+import com.jpa.querydsl.Benchmarks;
+import com.jpa.querydsl.dto.BulkUpdateResult;
+import com.jpa.querydsl.entity.Member;
+import com.jpa.querydsl.entity.Team;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static com.jpa.querydsl.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 팀 A의 회원 전체를 팀 B로 옮기는 비용 비교
+ * - 엔티티: 회원을 모두 읽고 changeTeam (영속성 컨텍스트와 team.members 에 회원이 쌓인다)
+ * - 벌크: MemberBulkUpdateService.reassignTeam (엔티티를 읽지 않는다)
+ * 벌크 경로의 SQL 수는 MemberBulkUpdateServiceTest 에서 확인한다.
+ */
+@SpringBootTest
+@Tag(Benchmarks.TAG)
+@Slf4j
+class TeamReassignBenchmarkTest {
+
+    private static final int ROWS = 5000;
+
+    @Autowired
+    MemberBulkUpdateService memberBulkUpdateService;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate tx;
+
+    Long teamAId;
+    Long teamBId;
+
+    @BeforeEach
+    void before() {
+        tx.executeWithoutResult(status -> {
+            Team teamA = new Team("reassignTeamA");
+            Team teamB = new Team("reassignTeamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 0; i < ROWS; i++) {
+                Member member = new Member("reassignMember", i);
+                member.assignTeam(teamA);
+                em.persist(member);
+            }
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username = 'reassignMember'").executeUpdate();
+            em.createQuery("delete from Team t where t.name like 'reassignTeam%'").executeUpdate();
+        });
+    }
+
+    @Test
+    void reassignTeam() {
+        long entityHeapBefore = Benchmarks.usedHeap();
+        long entityStart = System.currentTimeMillis();
+        int managedEntities = tx.execute(status -> {
+            Team teamB = em.find(Team.class, teamBId);
+            List<Member> members = em.createQuery(
+                            "select m from Member m where m.team.id = :teamId", Member.class)
+                    .setParameter("teamId", teamAId)
+                    .getResultList();
+            for (Member m : members) {
+                m.changeTeam(teamB);
+            }
+            em.flush();
+            return em.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+        long entityMillis = System.currentTimeMillis() - entityStart;
+        long entityHeap = Benchmarks.usedHeap() - entityHeapBefore;
+
+        long bulkHeapBefore = Benchmarks.usedHeap();
+        BulkUpdateResult bulk = memberBulkUpdateService.reassignTeam(member.team.id.eq(teamBId), teamAId);
+        long bulkHeap = Benchmarks.usedHeap() - bulkHeapBefore;
+
+        log.info("reassign {} members: entity {}ms / {} managed entities / heap {}KB, bulk {}ms / heap {}KB",
+                ROWS, entityMillis, managedEntities, entityHeap / 1024,
+                bulk.getElapsedMillis(), bulkHeap / 1024);
+
+        assertThat(managedEntities).isGreaterThan(ROWS);
+        assertThat(bulk.getAffectedRows()).isEqualTo(ROWS);
+        Long moved = tx.execute(status -> em.createQuery(
+                        "select count(m) from Member m where m.team.id = :teamId", Long.class)
+                .setParameter("teamId", teamAId)
+                .getSingleResult());
+        assertThat(moved).isEqualTo(ROWS);
+    }
+}